@@ -0,0 +1,217 @@
+/*
+ * Class:     org.vonvikken.closedbezier.BezierLoop
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import java.util.Locale;
+
+/**
+ * Closed chain of cubic Bézier segments stored in primitive arrays.
+ *
+ * <p>Segment {@code i} starts at node {@code i}, uses the outgoing control point of node {@code
+ * i} and the incoming control point of node {@code i + 1}, and ends at node {@code (i + 1) %
+ * size}.
+ */
+final class BezierLoop {
+
+  private static final String FIRST_POINT = "M ";
+  private static final String CURVE = " C ";
+  private static final String LINE = " L ";
+  private static final String CLOSE = " Z";
+  private static final String FALLBACK_FORMAT = "%.2f";
+
+  /** Up to this magnitude the hundredths are known well enough to spot the decimal ties. */
+  private static final double MAX_FIXED = 1e9;
+
+  /** Distance from a tie under which the rounding is left to {@link java.util.Formatter}. */
+  private static final double TIE = 1e-4;
+
+  private final int size;
+
+  /** Node coordinates: {@code x0, y0, x1, y1, ...}. */
+  private final double[] nodes;
+
+  /** Per segment: {@code outX, outY, inX, inY}. */
+  private final double[] controls;
+
+  BezierLoop(final int size) {
+
+    if (size < 2) {
+      throw new IllegalArgumentException("A closed loop needs at least 2 nodes, got " + size);
+    }
+
+    this.size = size;
+    this.nodes = new double[2 * size];
+    this.controls = new double[4 * size];
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  /** Live node array, no copy. */
+  double[] getNodes() {
+    return this.nodes;
+  }
+
+  /** Live control point array, no copy. */
+  double[] getControls() {
+    return this.controls;
+  }
+
+  void setNode(final int node, final double x, final double y) {
+    this.nodes[2 * node] = x;
+    this.nodes[2 * node + 1] = y;
+  }
+
+  double getNodeX(final int node) {
+    return this.nodes[2 * node];
+  }
+
+  double getNodeY(final int node) {
+    return this.nodes[2 * node + 1];
+  }
+
+  void setSegmentControls(
+      final int segment, final double outX, final double outY, final double inX, final double inY) {
+
+    final int base = 4 * segment;
+    this.controls[base] = outX;
+    this.controls[base + 1] = outY;
+    this.controls[base + 2] = inX;
+    this.controls[base + 3] = inY;
+  }
+
+  /**
+   * Copies segment {@code segment} into {@code dest} as {@code x0, y0, x1, y1, x2, y2, x3, y3}
+   * starting at {@code offset}.
+   */
+  void copySegment(final int segment, final double[] dest, final int offset) {
+
+    final int next = (segment + 1) % this.size;
+    final int base = 4 * segment;
+    dest[offset] = this.nodes[2 * segment];
+    dest[offset + 1] = this.nodes[2 * segment + 1];
+    dest[offset + 2] = this.controls[base];
+    dest[offset + 3] = this.controls[base + 1];
+    dest[offset + 4] = this.controls[base + 2];
+    dest[offset + 5] = this.controls[base + 3];
+    dest[offset + 6] = this.nodes[2 * next];
+    dest[offset + 7] = this.nodes[2 * next + 1];
+  }
+
+  void set(final BezierLoop other) {
+
+    if (other.size != this.size) {
+      throw new IllegalArgumentException(
+          "Loop size mismatch: " + this.size + " vs " + other.size);
+    }
+
+    System.arraycopy(other.nodes, 0, this.nodes, 0, this.nodes.length);
+    System.arraycopy(other.controls, 0, this.controls, 0, this.controls.length);
+  }
+
+  /** Content string suitable for {@link javafx.scene.shape.SVGPath#setContent(String)}. */
+  String toSvgContent() {
+
+    final var builder = new StringBuilder(16 + 64 * this.size);
+    builder.append(BezierLoop.FIRST_POINT);
+    BezierLoop.appendPoint(builder, this.nodes[0], this.nodes[1]);
+    for (int i = 0; i < this.size; i++) {
+      final int next = (i + 1) % this.size;
+      final int base = 4 * i;
+      builder.append(BezierLoop.CURVE);
+      BezierLoop.appendPoint(builder, this.controls[base], this.controls[base + 1]);
+      builder.append(' ');
+      BezierLoop.appendPoint(builder, this.controls[base + 2], this.controls[base + 3]);
+      builder.append(' ');
+      BezierLoop.appendPoint(builder, this.nodes[2 * next], this.nodes[2 * next + 1]);
+    }
+
+    return builder.append(BezierLoop.CLOSE).toString();
+  }
+
+  /**
+   * Content string drawing each segment as a polyline of {@code steps} straight lines, much cheaper
+   * to fill and stroke than the cubic path when the curve is small on screen.
+   */
+  String toFlattenedSvgContent(final int steps) {
+
+    final int lines = Math.max(1, steps);
+    final var builder = new StringBuilder(16 + 24 * lines * this.size);
+    builder.append(BezierLoop.FIRST_POINT);
+    BezierLoop.appendPoint(builder, this.nodes[0], this.nodes[1]);
+    for (int i = 0; i < this.size; i++) {
+      final int next = (i + 1) % this.size;
+      final int base = 4 * i;
+      final double x0 = this.nodes[2 * i];
+      final double y0 = this.nodes[2 * i + 1];
+      final double x3 = this.nodes[2 * next];
+      final double y3 = this.nodes[2 * next + 1];
+      for (int step = 1; step < lines; step++) {
+        final double t = (double) step / lines;
+        builder.append(BezierLoop.LINE);
+        BezierLoop.appendPoint(
+            builder,
+            CurveGeometry.evaluate(x0, this.controls[base], this.controls[base + 2], x3, t),
+            CurveGeometry.evaluate(y0, this.controls[base + 1], this.controls[base + 3], y3, t));
+      }
+      builder.append(BezierLoop.LINE);
+      BezierLoop.appendPoint(builder, x3, y3);
+    }
+
+    return builder.append(BezierLoop.CLOSE).toString();
+  }
+
+  private static void appendPoint(final StringBuilder builder, final double x, final double y) {
+
+    BezierLoop.appendFixed(builder, x);
+    builder.append(' ');
+    BezierLoop.appendFixed(builder, y);
+  }
+
+  /**
+   * Same output as {@code %.2f} without going through {@link java.util.Formatter}, which boxes
+   * every value and dominates the cost of large paths. Formatter rounds the shortest decimal form
+   * of the value half up, so values next to a tie such as 0.145 are still left to it.
+   */
+  private static void appendFixed(final StringBuilder builder, final double value) {
+
+    final double magnitude = Math.abs(value);
+    final double scaled = magnitude * 100.0;
+    if (!(magnitude < BezierLoop.MAX_FIXED)
+        || Math.abs(scaled - Math.floor(scaled) - 0.5) < BezierLoop.TIE) {
+      builder.append(String.format(Locale.ENGLISH, BezierLoop.FALLBACK_FORMAT, value));
+      return;
+    }
+
+    final long hundredths = Math.round(scaled);
+    // Like Formatter, keeps the sign of negative values rounding to zero and of -0.0
+    if (Math.copySign(1.0, value) < 0.0) {
+      builder.append('-');
+    }
+
+    final long fraction = hundredths % 100L;
+    builder.append(hundredths / 100L).append('.');
+    if (fraction < 10L) {
+      builder.append('0');
+    }
+    builder.append(fraction);
+  }
+}
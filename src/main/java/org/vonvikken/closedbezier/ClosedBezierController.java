@@ -27,6 +27,7 @@ import javafx.beans.binding.BooleanExpression;
 import javafx.beans.binding.ObjectExpression;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.fxml.FXML;
 import javafx.geometry.Point2D;
@@ -81,47 +82,60 @@ public class ClosedBezierController {
     final PolarPoint point3 = this.bezier.getPoint3();
     final PolarPoint point4 = this.bezier.getPoint4();
 
+    // Decorations are dropped first when the level of detail goes down
+    final BooleanExpression decorated =
+        this.bezier.detailLevelProperty().isEqualTo(DetailLevel.FULL);
+    final BooleanExpression decoratedPoints = this.pointsVisible.and(decorated);
+    final BooleanExpression decoratedRadii = this.radiiVisible.and(decorated);
+    final BooleanExpression decoratedPolygon = this.polygonVisible.and(decorated);
+
     // region Points (graphical)
     final var circlePoint1 =
         ClosedBezierController.drawPoint(
-            point1, ClosedBezierController.POINT_CSS, this.pointsVisible);
+            point1, ClosedBezierController.POINT_CSS, decoratedPoints);
     final var circlePoint2 =
         ClosedBezierController.drawPoint(
-            point2, ClosedBezierController.POINT_CSS, this.pointsVisible);
+            point2, ClosedBezierController.POINT_CSS, decoratedPoints);
     final var circlePoint3 =
         ClosedBezierController.drawPoint(
-            point3, ClosedBezierController.POINT_CSS, this.pointsVisible);
+            point3, ClosedBezierController.POINT_CSS, decoratedPoints);
     final var circlePoint4 =
         ClosedBezierController.drawPoint(
-            point4, ClosedBezierController.POINT_CSS, this.pointsVisible);
+            point4, ClosedBezierController.POINT_CSS, decoratedPoints);
     this.root.getChildren().addAll(circlePoint1, circlePoint2, circlePoint3, circlePoint4);
     // endregion
 
     // region Radii
-    final var radius1 = this.drawRadius(point1);
-    final var radius2 = this.drawRadius(point2);
-    final var radius3 = this.drawRadius(point3);
-    final var radius4 = this.drawRadius(point4);
+    final var radius1 = this.drawRadius(point1, decoratedRadii);
+    final var radius2 = this.drawRadius(point2, decoratedRadii);
+    final var radius3 = this.drawRadius(point3, decoratedRadii);
+    final var radius4 = this.drawRadius(point4, decoratedRadii);
     this.root.getChildren().addAll(radius1, radius2, radius3, radius4);
     // endregion
 
     // region Lines
     final var line12 =
         ClosedBezierController.drawLine(
-            point1, point2, ClosedBezierController.POLYGON_LINE_CSS, this.polygonVisible);
+            point1, point2, ClosedBezierController.POLYGON_LINE_CSS, decoratedPolygon);
     final var line23 =
         ClosedBezierController.drawLine(
-            point2, point3, ClosedBezierController.POLYGON_LINE_CSS, this.polygonVisible);
+            point2, point3, ClosedBezierController.POLYGON_LINE_CSS, decoratedPolygon);
     final var line34 =
         ClosedBezierController.drawLine(
-            point3, point4, ClosedBezierController.POLYGON_LINE_CSS, this.polygonVisible);
+            point3, point4, ClosedBezierController.POLYGON_LINE_CSS, decoratedPolygon);
     final var line41 =
         ClosedBezierController.drawLine(
-            point4, point1, ClosedBezierController.POLYGON_LINE_CSS, this.polygonVisible);
+            point4, point1, ClosedBezierController.POLYGON_LINE_CSS, decoratedPolygon);
     this.root.getChildren().addAll(line12, line23, line34, line41);
     // endregion
 
     // region Control points
+    // Automatic tangents do not move the ControlPoint nodes, so their decorations would be stale
+    final BooleanExpression manualControlsVisible =
+        this.controlsVisible
+            .and(decorated)
+            .and(this.bezier.tangentModeProperty().isEqualTo(TangentMode.MANUAL));
+
     final ControlPoint[] control1 = this.bezier.getControlPointsForNode(0);
     final ControlPoint[] control2 = this.bezier.getControlPointsForNode(1);
     final ControlPoint[] control3 = this.bezier.getControlPointsForNode(2);
@@ -133,7 +147,7 @@ public class ClosedBezierController {
         .map(
             point ->
                 ClosedBezierController.drawPoint(
-                    point, ClosedBezierController.CONTROL_POINT_CSS, this.controlsVisible))
+                    point, ClosedBezierController.CONTROL_POINT_CSS, manualControlsVisible))
         .forEach(this.root.getChildren()::add);
 
     Stream.of(control1, control2, control3, control4)
@@ -143,7 +157,7 @@ public class ClosedBezierController {
                     points[0],
                     points[1],
                     ClosedBezierController.CONTROL_LINE_CSS,
-                    this.controlsVisible))
+                    manualControlsVisible))
         .forEach(this.root.getChildren()::add);
     // endregion
 
@@ -181,7 +195,7 @@ public class ClosedBezierController {
     return line;
   }
 
-  private Line drawRadius(final PolarPoint end) {
+  private Line drawRadius(final PolarPoint end, final BooleanExpression visibleProperty) {
 
     final var line = new Line();
     line.getStyleClass().add(ClosedBezierController.RADIUS_CSS);
@@ -191,7 +205,7 @@ public class ClosedBezierController {
         .bind(Bindings.createDoubleBinding(() -> this.center.get().getY(), this.center));
     line.endXProperty().bind(end.xProperty());
     line.endYProperty().bind(end.yProperty());
-    line.visibleProperty().bind(this.radiiVisible);
+    line.visibleProperty().bind(visibleProperty);
     return line;
   }
 
@@ -231,6 +245,19 @@ public class ClosedBezierController {
     return this.bezier.controlPointDistanceProperty();
   }
 
+  ObjectProperty<TangentMode> tangentModeProperty() {
+    return this.bezier.tangentModeProperty();
+  }
+
+  LevelOfDetail getLevelOfDetail() {
+    return this.bezier.getLevelOfDetail();
+  }
+
+  /** Applies {@code changes} to the curve properties with a single rebuild of the path. */
+  void batchUpdate(final Runnable changes) {
+    this.bezier.batchUpdate(changes);
+  }
+
   BooleanProperty controlsVisibleProperty() {
     return this.controlsVisible;
   }
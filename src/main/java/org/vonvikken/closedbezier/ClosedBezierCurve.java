@@ -27,11 +27,16 @@ import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import javafx.animation.PauseTransition;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.DoubleExpression;
 import javafx.beans.binding.ObjectExpression;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.geometry.Point2D;
 import javafx.scene.shape.SVGPath;
 import org.slf4j.Logger;
@@ -61,6 +66,22 @@ class ClosedBezierCurve extends SVGPath {
   private final DoubleProperty magnitude4 = new SimpleDoubleProperty();
   private final DoubleProperty phase4 = new SimpleDoubleProperty();
   private final DoubleProperty controlPointDistance = new SimpleDoubleProperty();
+  private final ObjectProperty<TangentMode> tangentMode =
+      new SimpleObjectProperty<>(TangentMode.MANUAL);
+
+  private final ReadOnlyObjectWrapper<DetailLevel> detailLevel =
+      new ReadOnlyObjectWrapper<>(DetailLevel.FULL);
+
+  private final BezierLoop loop = new BezierLoop(4);
+  private final BezierLoop renderedLoop = new BezierLoop(4);
+  private final PeriodicSpline spline = new PeriodicSpline();
+  private final LevelOfDetail levelOfDetail = new LevelOfDetail();
+  private final double[] screenBounds = new double[4];
+  private boolean rendered;
+  private boolean skipped;
+  private PauseTransition settle;
+  private int batchDepth;
+  private boolean batchChanged;
 
   ClosedBezierCurve(final ObjectExpression<Point2D> center) {
 
@@ -92,6 +113,14 @@ class ClosedBezierCurve extends SVGPath {
 
     Arrays.asList(this.point1, this.point2, this.point3, this.point4).forEach(addListenerConsumer);
     this.controlPoints.forEach(addListenerConsumer);
+    // ControlPoint binds its magnitude to the distance, so its own listeners do not see it
+    this.controlPointDistance.addListener(obs -> this.updatePath());
+    this.tangentMode.addListener(obs -> this.forceUpdatePath());
+    this.levelOfDetail.enabledProperty().addListener(obs -> this.forceUpdatePath());
+    this.levelOfDetail.decorationThresholdProperty().addListener(obs -> this.forceUpdatePath());
+    this.levelOfDetail.flatteningThresholdProperty().addListener(obs -> this.forceUpdatePath());
+    this.levelOfDetail.flatteningStepsProperty().addListener(obs -> this.forceUpdatePath());
+    this.levelOfDetail.motionThresholdProperty().addListener(obs -> this.forceUpdatePath());
 
     this.getStyleClass().add(ClosedBezierCurve.CURVE_CSS);
 
@@ -125,8 +154,122 @@ class ClosedBezierCurve extends SVGPath {
     return new ControlPoint[] {controlA, controlB};
   }
 
+  private void forceUpdatePath() {
+
+    this.rendered = false;
+    this.updatePath();
+  }
+
+  /**
+   * Runs {@code changes} and rebuilds the path once afterwards, instead of once per changed
+   * property.
+   */
+  void batchUpdate(final Runnable changes) {
+
+    this.batchDepth++;
+    try {
+      changes.run();
+    } finally {
+      this.batchDepth--;
+    }
+
+    if (this.batchDepth == 0 && this.batchChanged) {
+      this.batchChanged = false;
+      this.updatePath();
+    }
+  }
+
   private void updatePath() {
 
+    if (this.batchDepth > 0) {
+      this.batchChanged = true;
+      return;
+    }
+
+    final TangentMode mode = this.tangentMode.get();
+    this.updateLoop(mode);
+
+    final DetailLevel level = this.levelOfDetail.levelFor(this.getScreenRadius());
+    if (this.rendered
+        && level == this.detailLevel.get()
+        && this.levelOfDetail.isBelowMotionThreshold(this.renderedLoop, this.loop)) {
+      this.levelOfDetail.recordSkipped();
+      this.scheduleSettle();
+      return;
+    }
+
+    this.rendered = true;
+    this.skipped = false;
+    this.renderedLoop.set(this.loop);
+    this.detailLevel.set(level);
+    this.levelOfDetail.recordRendered(level);
+
+    if (level != DetailLevel.MINIMAL && mode == TangentMode.MANUAL) {
+      this.updateManualPath();
+      return;
+    }
+
+    final String path =
+        level == DetailLevel.MINIMAL
+            ? this.loop.toFlattenedSvgContent(this.levelOfDetail.flatteningStepsProperty().get())
+            : this.loop.toSvgContent();
+    ClosedBezierCurve.LOGGER.debug(path);
+    this.contentProperty().set(path);
+  }
+
+  /**
+   * Draws the last skipped update once the curve has stopped moving for the settle delay, since
+   * the motion under the threshold would otherwise never be shown.
+   */
+  private void scheduleSettle() {
+
+    this.skipped = true;
+    if (this.settle == null) {
+      this.settle = new PauseTransition();
+      this.settle.setOnFinished(
+          event -> {
+            if (this.skipped) {
+              this.forceUpdatePath();
+            }
+          });
+    }
+
+    this.settle.setDuration(this.levelOfDetail.settleDelayProperty().get());
+    this.settle.playFromStart();
+  }
+
+  /** Half the larger side of the bounds of the curve, handles included, in pixels. */
+  private double getScreenRadius() {
+
+    final double[] bounds = this.screenBounds;
+    CurveGeometry.bounds(this.loop, bounds, 0);
+    return Math.max(bounds[2] - bounds[0], bounds[3] - bounds[1]) / 2.0;
+  }
+
+  private void updateLoop(final TangentMode mode) {
+
+    final List<PolarPoint> points =
+        Arrays.asList(this.point1, this.point2, this.point3, this.point4);
+    for (int i = 0; i < points.size(); i++) {
+      this.loop.setNode(i, points.get(i).getX(), points.get(i).getY());
+    }
+
+    if (mode != TangentMode.MANUAL) {
+      this.spline.computeControls(this.loop, mode);
+      return;
+    }
+
+    // Segment i leaves node i through its second control point and reaches node i + 1 through
+    // the first one of the next node
+    for (int i = 0; i < points.size(); i++) {
+      final ControlPoint out = this.controlPoints.get(2 * i + 1);
+      final ControlPoint in = this.controlPoints.get(2 * ((i + 1) % points.size()));
+      this.loop.setSegmentControls(i, out.getX(), out.getY(), in.getX(), in.getY());
+    }
+  }
+
+  private void updateManualPath() {
+
     final List<PolarPoint> points =
         Arrays.asList(this.point1, this.point2, this.point3, this.point4);
     final int max = Math.min(points.size(), this.controlPoints.size() / 2) - 1;
@@ -196,6 +339,19 @@ class ClosedBezierCurve extends SVGPath {
     return this.point4;
   }
 
+  /** Current geometry of the curve. The returned loop is live and updated with the path. */
+  BezierLoop getLoop() {
+    return this.loop;
+  }
+
+  LevelOfDetail getLevelOfDetail() {
+    return this.levelOfDetail;
+  }
+
+  ReadOnlyObjectProperty<DetailLevel> detailLevelProperty() {
+    return this.detailLevel.getReadOnlyProperty();
+  }
+
   ControlPoint[] getControlPointsForNode(final int node) {
     return new ControlPoint[] {
       this.controlPoints.get(2 * node), this.controlPoints.get(2 * node + 1)
@@ -237,4 +393,8 @@ class ClosedBezierCurve extends SVGPath {
   DoubleProperty controlPointDistanceProperty() {
     return this.controlPointDistance;
   }
+
+  ObjectProperty<TangentMode> tangentModeProperty() {
+    return this.tangentMode;
+  }
 }
@@ -0,0 +1,261 @@
+/*
+ * Class:     org.vonvikken.closedbezier.CurveGeometry
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+
+/**
+ * Analytic queries on the region enclosed by a {@link BezierLoop}.
+ *
+ * <p>Area and first moments come from Green's theorem applied segment by segment, so the cost is
+ * linear in the number of nodes and nothing is allocated apart from the returned values. Signs
+ * follow the screen coordinate system, where a clockwise loop has positive signed area.
+ */
+final class CurveGeometry {
+
+  /** 5-point Gauss-Legendre abscissae mapped on [0, 1]: exact up to degree 9. */
+  private static final double[] GAUSS_T = {
+    0.5,
+    0.5 - 0.5 * 0.5384693101056831,
+    0.5 + 0.5 * 0.5384693101056831,
+    0.5 - 0.5 * 0.9061798459386640,
+    0.5 + 0.5 * 0.9061798459386640
+  };
+
+  private static final double[] GAUSS_W = {
+    0.5 * 0.5688888888888889,
+    0.5 * 0.4786286704993665,
+    0.5 * 0.4786286704993665,
+    0.5 * 0.2369268850561891,
+    0.5 * 0.2369268850561891
+  };
+
+  private CurveGeometry() {}
+
+  /**
+   * Signed area enclosed by the loop: {@code ∮ x dy} reduced to the control points of each
+   * segment.
+   */
+  static double signedArea(final BezierLoop loop) {
+
+    final double[] p = loop.getNodes();
+    final double[] c = loop.getControls();
+    final int n = loop.size();
+
+    double sum = 0.0;
+    for (int i = 0; i < n; i++) {
+      final int next = (i + 1) % n;
+      final double x0 = p[2 * i];
+      final double y0 = p[2 * i + 1];
+      final double x1 = c[4 * i];
+      final double y1 = c[4 * i + 1];
+      final double x2 = c[4 * i + 2];
+      final double y2 = c[4 * i + 3];
+      final double x3 = p[2 * next];
+      final double y3 = p[2 * next + 1];
+
+      sum +=
+          6.0 * (x0 * y1 - x1 * y0)
+              + 3.0 * (x0 * y2 - x2 * y0)
+              + (x0 * y3 - x3 * y0)
+              + 3.0 * (x1 * y2 - x2 * y1)
+              + 3.0 * (x1 * y3 - x3 * y1)
+              + 6.0 * (x2 * y3 - x3 * y2);
+    }
+
+    return sum / 20.0;
+  }
+
+  static double area(final BezierLoop loop) {
+    return Math.abs(CurveGeometry.signedArea(loop));
+  }
+
+  /**
+   * Centroid of the enclosed region. The first moments are polynomials of degree 8 in the curve
+   * parameter, so the Gauss quadrature gives the exact value. Degenerate loops with no area fall
+   * back to the mean of their nodes.
+   */
+  static Point2D centroid(final BezierLoop loop) {
+
+    final double[] seg = new double[8];
+    final int n = loop.size();
+
+    double momentX = 0.0;
+    double momentY = 0.0;
+    for (int i = 0; i < n; i++) {
+      loop.copySegment(i, seg, 0);
+      for (int k = 0; k < CurveGeometry.GAUSS_T.length; k++) {
+        final double t = CurveGeometry.GAUSS_T[k];
+        final double w = CurveGeometry.GAUSS_W[k];
+        final double x = CurveGeometry.evaluate(seg[0], seg[2], seg[4], seg[6], t);
+        final double y = CurveGeometry.evaluate(seg[1], seg[3], seg[5], seg[7], t);
+        final double dx = CurveGeometry.derivative(seg[0], seg[2], seg[4], seg[6], t);
+        final double dy = CurveGeometry.derivative(seg[1], seg[3], seg[5], seg[7], t);
+        momentX += w * x * x * dy;
+        momentY -= w * y * y * dx;
+      }
+    }
+
+    final double area = CurveGeometry.signedArea(loop);
+    if (Math.abs(area) < 1e-12) {
+      final double[] p = loop.getNodes();
+      double sumX = 0.0;
+      double sumY = 0.0;
+      for (int i = 0; i < n; i++) {
+        sumX += p[2 * i];
+        sumY += p[2 * i + 1];
+      }
+      return new Point2D(sumX / n, sumY / n);
+    }
+
+    return new Point2D(momentX / (2.0 * area), momentY / (2.0 * area));
+  }
+
+  /** Tight bounding box of the loop, taking the extrema of every segment into account. */
+  static Bounds bounds(final BezierLoop loop) {
+
+    final double[] box = new double[4];
+    CurveGeometry.bounds(loop, box, 0);
+    return new BoundingBox(box[0], box[1], box[2] - box[0], box[3] - box[1]);
+  }
+
+  /** Writes {@code minX, minY, maxX, maxY} of the loop into {@code dest} at {@code offset}. */
+  static void bounds(final BezierLoop loop, final double[] dest, final int offset) {
+
+    final double[] p = loop.getNodes();
+    final double[] c = loop.getControls();
+    final int n = loop.size();
+
+    dest[offset] = Double.POSITIVE_INFINITY;
+    dest[offset + 1] = Double.POSITIVE_INFINITY;
+    dest[offset + 2] = Double.NEGATIVE_INFINITY;
+    dest[offset + 3] = Double.NEGATIVE_INFINITY;
+
+    for (int i = 0; i < n; i++) {
+      final int next = (i + 1) % n;
+      for (int axis = 0; axis < 2; axis++) {
+        final double v0 = p[2 * i + axis];
+        final double v1 = c[4 * i + axis];
+        final double v2 = c[4 * i + 2 + axis];
+        final double v3 = p[2 * next + axis];
+        CurveGeometry.includeExtrema(v0, v1, v2, v3, dest, offset + axis, offset + 2 + axis);
+      }
+    }
+  }
+
+  /**
+   * Writes {@code minX, minY, maxX, maxY} of the convex hull of a segment stored as {@code x0, y0,
+   * ..., x3, y3} at {@code offset}. Looser than the tight bounds but much cheaper.
+   */
+  static void hullBounds(final double[] seg, final int offset, final double[] dest, final int at) {
+
+    for (int axis = 0; axis < 2; axis++) {
+      final double v0 = seg[offset + axis];
+      final double v1 = seg[offset + 2 + axis];
+      final double v2 = seg[offset + 4 + axis];
+      final double v3 = seg[offset + 6 + axis];
+      dest[at + axis] = Math.min(Math.min(v0, v1), Math.min(v2, v3));
+      dest[at + 2 + axis] = Math.max(Math.max(v0, v1), Math.max(v2, v3));
+    }
+  }
+
+  static double evaluate(
+      final double v0, final double v1, final double v2, final double v3, final double t) {
+
+    final double u = 1.0 - t;
+    return u * u * u * v0 + 3.0 * u * u * t * v1 + 3.0 * u * t * t * v2 + t * t * t * v3;
+  }
+
+  static double derivative(
+      final double v0, final double v1, final double v2, final double v3, final double t) {
+
+    final double u = 1.0 - t;
+    return 3.0 * (u * u * (v1 - v0) + 2.0 * u * t * (v2 - v1) + t * t * (v3 - v2));
+  }
+
+  private static void includeExtrema(
+      final double v0,
+      final double v1,
+      final double v2,
+      final double v3,
+      final double[] dest,
+      final int minIndex,
+      final int maxIndex) {
+
+    CurveGeometry.include(v0, dest, minIndex, maxIndex);
+    CurveGeometry.include(v3, dest, minIndex, maxIndex);
+
+    // Control values inside the end points range cannot produce an extremum
+    final double low = Math.min(v0, v3);
+    final double high = Math.max(v0, v3);
+    if (v1 >= low && v1 <= high && v2 >= low && v2 <= high) {
+      return;
+    }
+
+    // Roots of the derivative: a t^2 + b t + c = 0
+    final double a = -v0 + 3.0 * v1 - 3.0 * v2 + v3;
+    final double b = 2.0 * (v0 - 2.0 * v1 + v2);
+    final double c = v1 - v0;
+
+    if (Math.abs(a) < 1e-12) {
+      if (Math.abs(b) > 1e-12) {
+        CurveGeometry.includeAt(v0, v1, v2, v3, -c / b, dest, minIndex, maxIndex);
+      }
+      return;
+    }
+
+    final double discriminant = b * b - 4.0 * a * c;
+    if (discriminant < 0.0) {
+      return;
+    }
+
+    final double root = Math.sqrt(discriminant);
+    CurveGeometry.includeAt(v0, v1, v2, v3, (-b + root) / (2.0 * a), dest, minIndex, maxIndex);
+    CurveGeometry.includeAt(v0, v1, v2, v3, (-b - root) / (2.0 * a), dest, minIndex, maxIndex);
+  }
+
+  private static void includeAt(
+      final double v0,
+      final double v1,
+      final double v2,
+      final double v3,
+      final double t,
+      final double[] dest,
+      final int minIndex,
+      final int maxIndex) {
+
+    if (t > 0.0 && t < 1.0) {
+      CurveGeometry.include(CurveGeometry.evaluate(v0, v1, v2, v3, t), dest, minIndex, maxIndex);
+    }
+  }
+
+  private static void include(
+      final double value, final double[] dest, final int minIndex, final int maxIndex) {
+
+    if (value < dest[minIndex]) {
+      dest[minIndex] = value;
+    }
+    if (value > dest[maxIndex]) {
+      dest[maxIndex] = value;
+    }
+  }
+}
@@ -0,0 +1,657 @@
+/*
+ * Class:     org.vonvikken.closedbezier.CurveIntersector
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import javafx.geometry.Point2D;
+
+/**
+ * Finds the crossings between {@link BezierLoop}s by bounding box subdivision.
+ *
+ * <p>A batch goes through three filters: a sweep over the tight bounds of the loops along the X
+ * axis, a test of the hull boxes of every segment pair of two overlapping loops and finally the
+ * recursive halving of the segments whose boxes still overlap, down to pieces that are flat within
+ * the tolerance and are intersected as straight lines.
+ *
+ * <p>Pieces running within the tolerance of each other are looked at more closely, then grouped
+ * into stretches along the first loop. A stretch too long for two touching loops is reported as an
+ * overlap, a shorter one as a single point of contact. The scratch buffers are kept between calls,
+ * so an instance is not thread safe, and it allocates only for the points and stretches found.
+ */
+final class CurveIntersector {
+
+  private static final int MAX_DEPTH = 48;
+  private static final int SEGMENT = 8;
+
+  /** Offset in a stack slot of the parameter range of the first piece on its segment. */
+  private static final int RANGE = 2 * CurveIntersector.SEGMENT;
+
+  /** Two segments being compared, followed by the parameter range of the first one. */
+  private static final int PAIR = CurveIntersector.RANGE + 2;
+
+  /** Per loop segment: 8 coordinates followed by the 4 values of the hull box. */
+  private static final int STRIDE = CurveIntersector.SEGMENT + 4;
+
+  /**
+   * Two cubics cross at most 9 times and a crossing on the shared end of neighbouring pieces is
+   * found by up to 4 of them: beyond that the segments run along each other.
+   */
+  private static final int MAX_CROSSINGS = 36;
+
+  /** Flat piece pairs with overlapping boxes after which a segment pair is deemed overlapping. */
+  private static final int MAX_LEAVES = 256;
+
+  /** Division of the flatness tolerance for pieces found within the tolerance of each other. */
+  private static final double REFINEMENT = 16.0;
+
+  /** Sine of the angle under which two chords are parallel. */
+  private static final double PARALLEL = 1e-9;
+
+  /** Rounding allowance on the chord parameters, so that shared ends are not missed. */
+  private static final double SLACK = 1e-9;
+
+  private static final Comparator<Point2D> BY_X = Comparator.comparingDouble(Point2D::getX);
+  private static final Comparator<Stretch> BY_START = Comparator.comparingDouble(s -> s.start);
+
+  private final double tolerance;
+  private final double mergeDistance;
+
+  private final double[] stack =
+      new double[CurveIntersector.PAIR * (CurveIntersector.MAX_DEPTH + 2)];
+  private final int[] depths = new int[CurveIntersector.MAX_DEPTH + 2];
+  private final boolean[] refined = new boolean[CurveIntersector.MAX_DEPTH + 2];
+  private final double[] boxA = new double[4];
+  private final double[] boxB = new double[4];
+  private final List<Point2D> candidates = new ArrayList<>();
+  private final List<Stretch> stretches = new ArrayList<>();
+  private final List<Point2D> pairPoints = new ArrayList<>();
+  private double[] candidateParameters = new double[16];
+  private double[] segmentsA = new double[0];
+  private double[] segmentsB = new double[0];
+  private double[] loopBounds = new double[0];
+  private double sharedLength;
+  private Point2D overlap;
+
+  /**
+   * @param tolerance distance under which a piece of segment is replaced by its chord and two
+   *     pieces are deemed to touch; it is also the accuracy of the returned points
+   */
+  CurveIntersector(final double tolerance) {
+
+    if (!(tolerance > 0.0)) {
+      throw new IllegalArgumentException("Tolerance must be positive, got " + tolerance);
+    }
+
+    this.tolerance = tolerance;
+    // The same crossing is found on both sides of a node or of a piece boundary
+    this.mergeDistance = 4.0 * tolerance;
+  }
+
+  /**
+   * Points where the two loops cross or touch, sorted by X. Stretches shared by both loops are not
+   * reported as points, see {@link #isOverlapping()}.
+   */
+  List<Point2D> intersect(final BezierLoop first, final BezierLoop second) {
+
+    final List<Point2D> result = new ArrayList<>();
+    this.intersect(first, second, result);
+    return result;
+  }
+
+  /** Whether the loops of the last {@link #intersect(BezierLoop, BezierLoop)} share a stretch. */
+  boolean isOverlapping() {
+    return this.overlap != null;
+  }
+
+  /**
+   * All the crossings between the loops of the batch. Loops are not tested against themselves. A
+   * pair of loops sharing a stretch gets one more entry, flagged as overlapping.
+   */
+  List<Intersection> intersectAll(final List<BezierLoop> loops) {
+
+    final int n = loops.size();
+    if (this.loopBounds.length < 4 * n) {
+      this.loopBounds = new double[4 * n];
+    }
+
+    final double[] bounds = this.loopBounds;
+    for (int i = 0; i < n; i++) {
+      CurveGeometry.bounds(loops.get(i), bounds, 4 * i);
+    }
+
+    final int[] order =
+        IntStream.range(0, n)
+            .boxed()
+            .sorted(Comparator.comparingDouble(i -> bounds[4 * i]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+
+    final List<Intersection> result = new ArrayList<>();
+    for (int a = 0; a < n; a++) {
+      final int i = order[a];
+      final double maxX = bounds[4 * i + 2];
+
+      for (int b = a + 1; b < n && bounds[4 * order[b]] <= maxX; b++) {
+        final int j = order[b];
+        if (bounds[4 * j + 1] > bounds[4 * i + 3] || bounds[4 * i + 1] > bounds[4 * j + 3]) {
+          continue;
+        }
+
+        this.pairPoints.clear();
+        this.intersect(loops.get(i), loops.get(j), this.pairPoints);
+        for (final Point2D point : this.pairPoints) {
+          result.add(new Intersection(Math.min(i, j), Math.max(i, j), point));
+        }
+        if (this.overlap != null) {
+          result.add(new Intersection(Math.min(i, j), Math.max(i, j), this.overlap, true));
+        }
+      }
+    }
+
+    this.pairPoints.clear();
+    this.overlap = null;
+    return result;
+  }
+
+  private void intersect(
+      final BezierLoop first, final BezierLoop second, final List<Point2D> dest) {
+
+    this.segmentsA = CurveIntersector.loadSegments(first, this.segmentsA);
+    this.segmentsB = CurveIntersector.loadSegments(second, this.segmentsB);
+    this.overlap = null;
+
+    // Curves of radius r touching each other stay within the tolerance over 2 sqrt(2 tolerance r),
+    // and the radius at a point of contact of two loops hardly exceeds their size
+    final double size =
+        Math.max(
+            CurveIntersector.hullSize(this.segmentsA, first.size()),
+            CurveIntersector.hullSize(this.segmentsB, second.size()));
+    this.sharedLength = 2.0 * Math.sqrt(2.0 * this.tolerance * size);
+
+    for (int i = 0; i < first.size(); i++) {
+      final int offsetA = i * CurveIntersector.STRIDE;
+      for (int j = 0; j < second.size(); j++) {
+        final int offsetB = j * CurveIntersector.STRIDE;
+        if (CurveIntersector.overlap(
+            this.segmentsA,
+            offsetA + CurveIntersector.SEGMENT,
+            this.segmentsB,
+            offsetB + CurveIntersector.SEGMENT)) {
+          this.subdivide(i, offsetB);
+        }
+      }
+    }
+
+    this.resolveStretches(first.size());
+    this.merge(dest);
+  }
+
+  /**
+   * Depth-first halving of a segment pair on an explicit stack until both pieces are flat. If the
+   * segments turn out to overlap, their candidates are replaced by a stretch over the first one.
+   */
+  private void subdivide(final int segmentA, final int offsetB) {
+
+    System.arraycopy(
+        this.segmentsA,
+        segmentA * CurveIntersector.STRIDE,
+        this.stack,
+        0,
+        CurveIntersector.SEGMENT);
+    System.arraycopy(
+        this.segmentsB, offsetB, this.stack, CurveIntersector.SEGMENT, CurveIntersector.SEGMENT);
+    this.stack[CurveIntersector.RANGE] = 0.0;
+    this.stack[CurveIntersector.RANGE + 1] = 1.0;
+    this.depths[0] = 0;
+    this.refined[0] = false;
+    int top = 1;
+    int leaves = 0;
+    final int candidateMark = this.candidates.size();
+    final int stretchMark = this.stretches.size();
+
+    while (top > 0) {
+      top--;
+      final int base = top * CurveIntersector.PAIR;
+      final int depth = this.depths[top];
+      final boolean fine = this.refined[top];
+
+      CurveGeometry.hullBounds(this.stack, base, this.boxA, 0);
+      CurveGeometry.hullBounds(this.stack, base + CurveIntersector.SEGMENT, this.boxB, 0);
+      if (!CurveIntersector.overlap(this.boxA, 0, this.boxB, 0)) {
+        continue;
+      }
+
+      final double flatness = fine ? this.tolerance / CurveIntersector.REFINEMENT : this.tolerance;
+      final boolean flatA = this.isFlat(base, flatness);
+      final boolean flatB = this.isFlat(base + CurveIntersector.SEGMENT, flatness);
+
+      if ((flatA && flatB) || depth >= CurveIntersector.MAX_DEPTH) {
+        final double crossing = this.intersectChords(base);
+        final boolean close = this.isClose(base);
+        if ((close || !Double.isNaN(crossing)) && !fine && depth < CurveIntersector.MAX_DEPTH) {
+          // A shallow crossing moves with the chords: find it, or tell touching from overlapping
+          // pieces, on finer ones
+          this.refined[top] = true;
+          top++;
+          continue;
+        }
+
+        leaves++;
+        if (!Double.isNaN(crossing)) {
+          this.addCandidate(base, segmentA, crossing);
+        }
+        if (close) {
+          this.addStretch(base, segmentA);
+        }
+
+        if (leaves > CurveIntersector.MAX_LEAVES
+            || this.candidates.size() - candidateMark > CurveIntersector.MAX_CROSSINGS) {
+          // The segments run along each other: the whole of the first one is shared
+          this.candidates.subList(candidateMark, this.candidates.size()).clear();
+          this.stretches.subList(stretchMark, this.stretches.size()).clear();
+          this.stretches.add(
+              new Stretch(
+                  segmentA,
+                  segmentA + 1.0,
+                  Double.POSITIVE_INFINITY,
+                  this.stack[base],
+                  this.stack[base + 1]));
+          return;
+        }
+        continue;
+      }
+
+      final double sizeA = Math.max(this.boxA[2] - this.boxA[0], this.boxA[3] - this.boxA[1]);
+      final double sizeB = Math.max(this.boxB[2] - this.boxB[0], this.boxB[3] - this.boxB[1]);
+
+      if (!flatA && (flatB || sizeA >= sizeB)) {
+        this.split(base, 0, CurveIntersector.SEGMENT);
+      } else {
+        this.split(base, CurveIntersector.SEGMENT, 0);
+      }
+
+      this.depths[top] = depth + 1;
+      this.depths[top + 1] = depth + 1;
+      this.refined[top + 1] = fine;
+      top += 2;
+    }
+  }
+
+  /**
+   * Whether the inner control points of the piece at {@code offset} are within {@code flatness}
+   * of the thirds of its chord, which keeps the whole piece within that distance of the chord.
+   */
+  private boolean isFlat(final int offset, final double flatness) {
+
+    final double[] s = this.stack;
+    final double x0 = s[offset];
+    final double y0 = s[offset + 1];
+    final double x3 = s[offset + 6];
+    final double y3 = s[offset + 7];
+    final double limit = 3.0 * flatness;
+
+    return Math.hypot(3.0 * s[offset + 2] - 2.0 * x0 - x3, 3.0 * s[offset + 3] - 2.0 * y0 - y3)
+            <= limit
+        && Math.hypot(3.0 * s[offset + 4] - x0 - 2.0 * x3, 3.0 * s[offset + 5] - y0 - 2.0 * y3)
+            <= limit;
+  }
+
+  /**
+   * Parameter on the first chord of the pieces at {@code base} where the second one crosses it, or
+   * NaN if the chords do not cross.
+   */
+  private double intersectChords(final int base) {
+
+    final double[] s = this.stack;
+    final int other = base + CurveIntersector.SEGMENT;
+    final double adx = s[base + 6] - s[base];
+    final double ady = s[base + 7] - s[base + 1];
+    final double bdx = s[other + 6] - s[other];
+    final double bdy = s[other + 7] - s[other + 1];
+    final double ex = s[other] - s[base];
+    final double ey = s[other + 1] - s[base + 1];
+
+    final double denominator = adx * bdy - ady * bdx;
+    if (Math.abs(denominator)
+        <= CurveIntersector.PARALLEL * Math.hypot(adx, ady) * Math.hypot(bdx, bdy)) {
+      return Double.NaN;
+    }
+
+    final double t = (ex * bdy - ey * bdx) / denominator;
+    final double u = (ex * ady - ey * adx) / denominator;
+    if (t >= -CurveIntersector.SLACK
+        && t <= 1.0 + CurveIntersector.SLACK
+        && u >= -CurveIntersector.SLACK
+        && u <= 1.0 + CurveIntersector.SLACK) {
+      return t;
+    }
+    return Double.NaN;
+  }
+
+  /** Adds the point at {@code t} on the first chord of the pieces at {@code base}. */
+  private void addCandidate(final int base, final int segmentA, final double t) {
+
+    final double[] s = this.stack;
+    final int count = this.candidates.size();
+    if (this.candidateParameters.length == count) {
+      this.candidateParameters = Arrays.copyOf(this.candidateParameters, 2 * count);
+    }
+
+    final double from = s[base + CurveIntersector.RANGE];
+    final double to = s[base + CurveIntersector.RANGE + 1];
+    this.candidateParameters[count] = segmentA + from + (to - from) * t;
+    this.candidates.add(
+        new Point2D(
+            s[base] + t * (s[base + 6] - s[base]), s[base + 1] + t * (s[base + 7] - s[base + 1])));
+  }
+
+  /**
+   * Whether both ends of the shorter chord of the pieces at {@code base} are within the tolerance
+   * of the line of the longer one and project onto it with a common stretch.
+   */
+  private boolean isClose(final int base) {
+
+    final double[] s = this.stack;
+    final int other = base + CurveIntersector.SEGMENT;
+    final double lengthA = Math.hypot(s[base + 6] - s[base], s[base + 7] - s[base + 1]);
+    final double lengthB = Math.hypot(s[other + 6] - s[other], s[other + 7] - s[other + 1]);
+    final int reference = lengthA >= lengthB ? base : other;
+    final int shorter = lengthA >= lengthB ? other : base;
+
+    final double x0 = s[reference];
+    final double y0 = s[reference + 1];
+    final double dx = s[reference + 6] - x0;
+    final double dy = s[reference + 7] - y0;
+    final double squared = dx * dx + dy * dy;
+    if (squared == 0.0) {
+      return false;
+    }
+
+    final double limit = this.tolerance * Math.sqrt(squared);
+    double from = Double.POSITIVE_INFINITY;
+    double to = Double.NEGATIVE_INFINITY;
+    for (int end = 0; end <= 6; end += 6) {
+      final double ex = s[shorter + end] - x0;
+      final double ey = s[shorter + end + 1] - y0;
+      if (Math.abs(ex * dy - ey * dx) > limit) {
+        return false;
+      }
+      final double along = (ex * dx + ey * dy) / squared;
+      from = Math.min(from, along);
+      to = Math.max(to, along);
+    }
+
+    return Math.min(to, 1.0) - Math.max(from, 0.0) > CurveIntersector.SLACK;
+  }
+
+  private void addStretch(final int base, final int segmentA) {
+
+    final double[] s = this.stack;
+    final double length = Math.hypot(s[base + 6] - s[base], s[base + 7] - s[base + 1]);
+    this.stretches.add(
+        new Stretch(
+            segmentA + s[base + CurveIntersector.RANGE],
+            segmentA + s[base + CurveIntersector.RANGE + 1],
+            length,
+            (s[base] + s[base + 6]) / 2.0,
+            (s[base + 1] + s[base + 7]) / 2.0));
+  }
+
+  /**
+   * Joins the close pieces into stretches along the first loop of {@code size} segments. A stretch
+   * longer than two touching loops allow is an overlap, and the crossings found on it are
+   * dropped. A shorter one is a point of contact, added at its middle unless it holds a crossing.
+   */
+  private void resolveStretches(final int size) {
+
+    if (this.stretches.isEmpty()) {
+      return;
+    }
+
+    this.stretches.sort(CurveIntersector.BY_START);
+    int joined = 0;
+    for (int i = 1; i < this.stretches.size(); i++) {
+      final Stretch current = this.stretches.get(joined);
+      final Stretch next = this.stretches.get(i);
+      if (next.start <= current.end + CurveIntersector.SLACK) {
+        current.join(next);
+      } else {
+        joined++;
+        this.stretches.set(joined, next);
+      }
+    }
+    this.stretches.subList(joined + 1, this.stretches.size()).clear();
+
+    // The first stretch may continue the last one across the first node
+    final Stretch first = this.stretches.get(0);
+    final Stretch last = this.stretches.get(this.stretches.size() - 1);
+    if (first != last
+        && first.start <= CurveIntersector.SLACK
+        && last.end >= size - CurveIntersector.SLACK) {
+      first.start += size;
+      first.end += size;
+      last.join(first);
+      this.stretches.remove(0);
+    }
+
+    for (final Stretch stretch : this.stretches) {
+      if (stretch.length > this.sharedLength) {
+        if (this.overlap == null) {
+          this.overlap = new Point2D(stretch.firstX, stretch.firstY);
+        }
+        this.removeCandidates(stretch, size);
+      } else if (!this.hasCandidate(stretch, size) && stretch.length > 0.0) {
+        this.candidates.add(
+            new Point2D(stretch.weightedX / stretch.length, stretch.weightedY / stretch.length));
+      }
+    }
+
+    this.stretches.clear();
+  }
+
+  private boolean hasCandidate(final Stretch stretch, final int size) {
+
+    for (int i = 0; i < this.candidates.size(); i++) {
+      if (stretch.contains(this.candidateParameters[i], size)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void removeCandidates(final Stretch stretch, final int size) {
+
+    int kept = 0;
+    for (int i = 0; i < this.candidates.size(); i++) {
+      if (!stretch.contains(this.candidateParameters[i], size)) {
+        this.candidateParameters[kept] = this.candidateParameters[i];
+        this.candidates.set(kept, this.candidates.get(i));
+        kept++;
+      }
+    }
+    this.candidates.subList(kept, this.candidates.size()).clear();
+  }
+
+  /**
+   * Moves the candidates to {@code dest} sorted by X, dropping those within the merge distance of
+   * one already kept: only the kept points less than the merge distance behind need checking.
+   */
+  private void merge(final List<Point2D> dest) {
+
+    this.candidates.sort(CurveIntersector.BY_X);
+    final int start = dest.size();
+
+    for (final Point2D point : this.candidates) {
+      boolean merged = false;
+      for (int i = dest.size() - 1;
+          i >= start && dest.get(i).getX() >= point.getX() - this.mergeDistance;
+          i--) {
+        if (Math.abs(dest.get(i).getY() - point.getY()) <= this.mergeDistance) {
+          merged = true;
+          break;
+        }
+      }
+      if (!merged) {
+        dest.add(point);
+      }
+    }
+
+    this.candidates.clear();
+  }
+
+  /**
+   * Halves the segment at {@code base + segment} with de Casteljau: the first half stays in place,
+   * the second half goes in the next stack slot together with a copy of the other segment. The
+   * parameter range of the first segment follows.
+   */
+  private void split(final int base, final int segment, final int other) {
+
+    final double[] s = this.stack;
+    final int nextBase = base + CurveIntersector.PAIR;
+    System.arraycopy(s, base + other, s, nextBase + other, CurveIntersector.SEGMENT);
+
+    final int range = base + CurveIntersector.RANGE;
+    final int nextRange = nextBase + CurveIntersector.RANGE;
+    if (segment == 0) {
+      final double middle = (s[range] + s[range + 1]) / 2.0;
+      s[nextRange] = middle;
+      s[nextRange + 1] = s[range + 1];
+      s[range + 1] = middle;
+    } else {
+      s[nextRange] = s[range];
+      s[nextRange + 1] = s[range + 1];
+    }
+
+    for (int axis = 0; axis < 2; axis++) {
+      final int from = base + segment + axis;
+      final int to = nextBase + segment + axis;
+      final double p0 = s[from];
+      final double p1 = s[from + 2];
+      final double p2 = s[from + 4];
+      final double p3 = s[from + 6];
+      final double p01 = (p0 + p1) / 2.0;
+      final double p12 = (p1 + p2) / 2.0;
+      final double p23 = (p2 + p3) / 2.0;
+      final double p012 = (p01 + p12) / 2.0;
+      final double p123 = (p12 + p23) / 2.0;
+      final double mid = (p012 + p123) / 2.0;
+
+      s[from + 2] = p01;
+      s[from + 4] = p012;
+      s[from + 6] = mid;
+      s[to] = mid;
+      s[to + 2] = p123;
+      s[to + 4] = p23;
+      s[to + 6] = p3;
+    }
+  }
+
+  private static double[] loadSegments(final BezierLoop loop, final double[] buffer) {
+
+    final int length = loop.size() * CurveIntersector.STRIDE;
+    final double[] segments = buffer.length < length ? new double[length] : buffer;
+
+    for (int i = 0; i < loop.size(); i++) {
+      final int offset = i * CurveIntersector.STRIDE;
+      loop.copySegment(i, segments, offset);
+      CurveGeometry.hullBounds(segments, offset, segments, offset + CurveIntersector.SEGMENT);
+    }
+
+    return segments;
+  }
+
+  private static boolean overlap(
+      final double[] first, final int offsetA, final double[] second, final int offsetB) {
+
+    return first[offsetA] <= second[offsetB + 2]
+        && second[offsetB] <= first[offsetA + 2]
+        && first[offsetA + 1] <= second[offsetB + 3]
+        && second[offsetB + 1] <= first[offsetA + 3];
+  }
+
+  /** Side of the square holding the hull boxes of every segment of a loop. */
+  private static double hullSize(final double[] segments, final int count) {
+
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < count; i++) {
+      final int box = i * CurveIntersector.STRIDE + CurveIntersector.SEGMENT;
+      minX = Math.min(minX, segments[box]);
+      minY = Math.min(minY, segments[box + 1]);
+      maxX = Math.max(maxX, segments[box + 2]);
+      maxY = Math.max(maxY, segments[box + 3]);
+    }
+    return Math.max(maxX - minX, maxY - minY);
+  }
+
+  /**
+   * Close pieces of the first loop joined along it, with the parameter range {@code start} to
+   * {@code end} counted in segments from the first node.
+   */
+  private static final class Stretch {
+
+    private double start;
+    private double end;
+    private double length;
+    private double weightedX;
+    private double weightedY;
+    private final double firstX;
+    private final double firstY;
+
+    private Stretch(
+        final double start, final double end, final double length, final double x, final double y) {
+
+      this.start = start;
+      this.end = end;
+      this.length = length;
+      this.weightedX = x * length;
+      this.weightedY = y * length;
+      this.firstX = x;
+      this.firstY = y;
+    }
+
+    /** Extends the stretch with the part of {@code other} beyond its end. */
+    private void join(final Stretch other) {
+
+      final double span = other.end - other.start;
+      if (other.end > this.end && span > 0.0) {
+        final double share = (other.end - Math.max(other.start, this.end)) / span;
+        this.length += share * other.length;
+        this.weightedX += share * other.weightedX;
+        this.weightedY += share * other.weightedY;
+        this.end = other.end;
+      }
+    }
+
+    private boolean contains(final double parameter, final int size) {
+
+      return (parameter >= this.start - CurveIntersector.SLACK
+              && parameter <= this.end + CurveIntersector.SLACK)
+          || (parameter + size >= this.start - CurveIntersector.SLACK
+              && parameter + size <= this.end + CurveIntersector.SLACK);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Class:     org.vonvikken.closedbezier.CurveSimulation
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+/**
+ * Deterministic evolution of the curve parameters, advanced by a {@link SimulationClock} at a
+ * fixed step.
+ */
+interface CurveSimulation {
+
+  int getStateSize();
+
+  void initialize(double[] state);
+
+  /**
+   * Computes the state of step {@code step} into {@code next}. The result must depend only on the
+   * arguments, so that a run can be reproduced step by step.
+   */
+  void step(long step, double stepSeconds, double[] previous, double[] next);
+}
@@ -0,0 +1,73 @@
+/*
+ * Class:     org.vonvikken.closedbezier.Intersection
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import javafx.geometry.Point2D;
+
+/**
+ * Crossing point between two loops of a batch, identified by their index in the batch. When the
+ * loops share a stretch of curve, a single entry flagged as overlapping locates it.
+ */
+final class Intersection {
+
+  private final int first;
+  private final int second;
+  private final Point2D point;
+  private final boolean overlapping;
+
+  Intersection(final int first, final int second, final Point2D point) {
+    this(first, second, point, false);
+  }
+
+  Intersection(final int first, final int second, final Point2D point, final boolean overlapping) {
+
+    this.first = first;
+    this.second = second;
+    this.point = point;
+    this.overlapping = overlapping;
+  }
+
+  int getFirst() {
+    return this.first;
+  }
+
+  int getSecond() {
+    return this.second;
+  }
+
+  Point2D getPoint() {
+    return this.point;
+  }
+
+  boolean isOverlapping() {
+    return this.overlapping;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "Intersection[%d, %d %s (%.2f, %.2f)]",
+        this.first,
+        this.second,
+        this.overlapping ? "overlapping at" : "at",
+        this.point.getX(),
+        this.point.getY());
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Class:     org.vonvikken.closedbezier.LevelOfDetail
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.util.Duration;
+
+/**
+ * Thresholds choosing the {@link DetailLevel} of a curve from its radius on screen, in pixels, and
+ * counters of the work saved. Disabled by default, in which case every update is rendered in full.
+ *
+ * <p>Meant to be used from the JavaFX application thread only.
+ */
+final class LevelOfDetail {
+
+  private final BooleanProperty enabled = new SimpleBooleanProperty();
+  private final DoubleProperty decorationThreshold = new SimpleDoubleProperty(50.0);
+  private final DoubleProperty flatteningThreshold = new SimpleDoubleProperty(15.0);
+  private final IntegerProperty flatteningSteps = new SimpleIntegerProperty(4);
+  private final DoubleProperty motionThreshold = new SimpleDoubleProperty(0.5);
+  private final ObjectProperty<Duration> settleDelay =
+      new SimpleObjectProperty<>(Duration.millis(100.0));
+
+  private long renderedUpdates;
+  private long skippedUpdates;
+  private long reducedUpdates;
+  private long flattenedUpdates;
+
+  DetailLevel levelFor(final double screenRadius) {
+
+    if (!this.enabled.get()) {
+      return DetailLevel.FULL;
+    }
+
+    if (screenRadius < this.flatteningThreshold.get()) {
+      return DetailLevel.MINIMAL;
+    }
+
+    return screenRadius < this.decorationThreshold.get() ? DetailLevel.REDUCED : DetailLevel.FULL;
+  }
+
+  /** Whether no coordinate moved by the motion threshold or more since the rendered state. */
+  boolean isBelowMotionThreshold(final BezierLoop rendered, final BezierLoop current) {
+
+    if (!this.enabled.get()) {
+      return false;
+    }
+
+    final double threshold = this.motionThreshold.get();
+    return LevelOfDetail.maxDifference(rendered.getNodes(), current.getNodes()) < threshold
+        && LevelOfDetail.maxDifference(rendered.getControls(), current.getControls()) < threshold;
+  }
+
+  void recordRendered(final DetailLevel level) {
+
+    this.renderedUpdates++;
+    if (level == DetailLevel.REDUCED) {
+      this.reducedUpdates++;
+    } else if (level == DetailLevel.MINIMAL) {
+      this.flattenedUpdates++;
+    }
+  }
+
+  void recordSkipped() {
+    this.skippedUpdates++;
+  }
+
+  void resetStatistics() {
+
+    this.renderedUpdates = 0L;
+    this.skippedUpdates = 0L;
+    this.reducedUpdates = 0L;
+    this.flattenedUpdates = 0L;
+  }
+
+  private static double maxDifference(final double[] first, final double[] second) {
+
+    double max = 0.0;
+    for (int i = 0; i < first.length; i++) {
+      max = Math.max(max, Math.abs(first[i] - second[i]));
+    }
+    return max;
+  }
+
+  BooleanProperty enabledProperty() {
+    return this.enabled;
+  }
+
+  /** Radius under which the decorations are hidden. */
+  DoubleProperty decorationThresholdProperty() {
+    return this.decorationThreshold;
+  }
+
+  /** Radius under which the curve is drawn as a polyline. */
+  DoubleProperty flatteningThresholdProperty() {
+    return this.flatteningThreshold;
+  }
+
+  /** Polyline points per Bézier segment when flattened. */
+  IntegerProperty flatteningStepsProperty() {
+    return this.flatteningSteps;
+  }
+
+  /** Displacement under which an update is not rendered. */
+  DoubleProperty motionThresholdProperty() {
+    return this.motionThreshold;
+  }
+
+  /** Time without motion after which a skipped update is rendered after all. */
+  ObjectProperty<Duration> settleDelayProperty() {
+    return this.settleDelay;
+  }
+
+  long getRenderedUpdates() {
+    return this.renderedUpdates;
+  }
+
+  long getSkippedUpdates() {
+    return this.skippedUpdates;
+  }
+
+  /** Rendered updates without decorations. */
+  long getReducedUpdates() {
+    return this.reducedUpdates;
+  }
+
+  /** Rendered updates drawn as a polyline. */
+  long getFlattenedUpdates() {
+    return this.flattenedUpdates;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "LevelOfDetail[rendered=%d, skipped=%d, reduced=%d, flattened=%d]",
+        this.renderedUpdates, this.skippedUpdates, this.reducedUpdates, this.flattenedUpdates);
+  }
+}
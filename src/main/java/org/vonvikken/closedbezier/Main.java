@@ -19,10 +19,7 @@
 
 package org.vonvikken.closedbezier;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import java.util.List;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -32,6 +29,8 @@ import javafx.util.Duration;
 
 public final class Main extends Application {
 
+  private SimulationClock clock;
+
   public static void main(final String[] args) {
     Application.launch(args);
   }
@@ -62,29 +61,42 @@ public final class Main extends Application {
     controller.pointsVisibleProperty().set(true);
     // endregion
 
-    // region Timeline
-    final var timeline = new Timeline();
-    timeline.setCycleCount(Animation.INDEFINITE);
-    timeline.setAutoReverse(true);
-    timeline
-        .getKeyFrames()
-        .add(
-            new KeyFrame(
-                Duration.seconds(2.0),
-                new KeyValue(controller.magnitude1Property(), 0.1),
-                new KeyValue(controller.phase1Property(), 0.85),
-                new KeyValue(controller.magnitude2Property(), 0.1),
-                new KeyValue(controller.phase2Property(), 0.85),
-                new KeyValue(controller.magnitude3Property(), 0.9),
-                new KeyValue(controller.phase3Property(), 0.2),
-                new KeyValue(controller.magnitude4Property(), 0.75),
-                new KeyValue(controller.phase4Property(), 0.1)));
-
-    timeline.play();
+    // region Simulation
+    final var simulation =
+        new PingPongSimulation(
+            new double[] {1.0, 0.15, 0.75, 0.3, 0.5, 0.5, 0.25, 0.6},
+            new double[] {0.1, 0.85, 0.1, 0.85, 0.9, 0.2, 0.75, 0.1},
+            2.0);
+    this.clock = new SimulationClock(simulation, Duration.millis(10.0));
+
+    final var renderer =
+        new SimulationRenderer(
+            this.clock,
+            List.of(
+                controller.magnitude1Property(),
+                controller.phase1Property(),
+                controller.magnitude2Property(),
+                controller.phase2Property(),
+                controller.magnitude3Property(),
+                controller.phase3Property(),
+                controller.magnitude4Property(),
+                controller.phase4Property()),
+            controller::batchUpdate);
+
+    this.clock.start();
+    renderer.start();
     // endregion
 
     primaryStage.setTitle("Closed Bézier curve");
     primaryStage.setScene(new Scene(root, 1600, 1200));
     primaryStage.show();
   }
+
+  @Override
+  public void stop() {
+
+    if (this.clock != null) {
+      this.clock.stop();
+    }
+  }
 }
@@ -0,0 +1,68 @@
+/*
+ * Class:     org.vonvikken.closedbezier.MorphingCurve
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.shape.SVGPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Path showing a {@link ShapeMorph} at the current value of its progress property. */
+class MorphingCurve extends SVGPath {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MorphingCurve.class);
+
+  private static final String CURVE_CSS = "curve";
+
+  private final ShapeMorph morph;
+  private final BezierLoop loop;
+  private final DoubleProperty progress = new SimpleDoubleProperty();
+
+  MorphingCurve(final ShapeMorph morph) {
+
+    this.morph = morph;
+    this.loop = new BezierLoop(morph.size());
+
+    this.progress.addListener(obs -> this.updatePath());
+    this.getStyleClass().add(MorphingCurve.CURVE_CSS);
+
+    this.updatePath();
+  }
+
+  private void updatePath() {
+
+    this.morph.interpolate(this.progress.get(), this.loop);
+
+    final String path = this.loop.toSvgContent();
+    MorphingCurve.LOGGER.debug(path);
+    this.contentProperty().set(path);
+  }
+
+  /** Current geometry of the curve. The returned loop is live and updated with the path. */
+  BezierLoop getLoop() {
+    return this.loop;
+  }
+
+  /** From 0 (start shape) to 1 (end shape). */
+  DoubleProperty progressProperty() {
+    return this.progress;
+  }
+}
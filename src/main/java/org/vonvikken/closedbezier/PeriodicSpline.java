@@ -0,0 +1,165 @@
+/*
+ * Class:     org.vonvikken.closedbezier.PeriodicSpline
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+/**
+ * Derives the control points of a {@link BezierLoop} from its nodes in a single O(N) pass.
+ *
+ * <p>The periodic spline solves {@code D[i-1] + 4 D[i] + D[i+1] = 3 (P[i+1] - P[i-1])} for the
+ * node derivatives with the Sherman-Morrison variant of the Thomas algorithm. The scratch buffers
+ * are kept between calls, so an instance is not thread safe but does not allocate once warmed up.
+ */
+final class PeriodicSpline {
+
+  private static final double DIAGONAL = 4.0;
+
+  /** Sherman-Morrison correction term, chosen as {@code -DIAGONAL} for stability. */
+  private static final double GAMMA = -PeriodicSpline.DIAGONAL;
+
+  private double[] gam = new double[0];
+  private double[] derivX = new double[0];
+  private double[] derivY = new double[0];
+  private double[] correction = new double[0];
+
+  void computeControls(final BezierLoop loop, final TangentMode mode) {
+
+    switch (mode) {
+      case CATMULL_ROM:
+        PeriodicSpline.catmullRom(loop);
+        break;
+      case PERIODIC_SPLINE:
+        this.periodic(loop);
+        break;
+      default:
+        throw new IllegalArgumentException("Control points cannot be derived in mode " + mode);
+    }
+  }
+
+  /** Closed uniform Catmull-Rom: the tangent at each node is half the chord of its neighbours. */
+  static void catmullRom(final BezierLoop loop) {
+
+    final int n = loop.size();
+    final double[] p = loop.getNodes();
+    final double[] c = loop.getControls();
+
+    for (int i = 0; i < n; i++) {
+      final int prev = (i + n - 1) % n;
+      final int next = (i + 1) % n;
+
+      // Bézier handle = tangent / 3 = (P[i+1] - P[i-1]) / 6
+      final double tx = (p[2 * next] - p[2 * prev]) / 6.0;
+      final double ty = (p[2 * next + 1] - p[2 * prev + 1]) / 6.0;
+
+      c[4 * i] = p[2 * i] + tx;
+      c[4 * i + 1] = p[2 * i + 1] + ty;
+      c[4 * prev + 2] = p[2 * i] - tx;
+      c[4 * prev + 3] = p[2 * i + 1] - ty;
+    }
+  }
+
+  /** Closed C2 cubic spline through the nodes. */
+  void periodic(final BezierLoop loop) {
+
+    final int n = loop.size();
+    if (n < 3) {
+      // With two nodes the right hand side vanishes: the spline is the chord itself
+      PeriodicSpline.catmullRom(loop);
+      return;
+    }
+
+    this.ensureCapacity(n);
+    final double[] p = loop.getNodes();
+    final double[] c = loop.getControls();
+    final double[] dx = this.derivX;
+    final double[] dy = this.derivY;
+    final double[] z = this.correction;
+
+    for (int i = 0; i < n; i++) {
+      final int prev = (i + n - 1) % n;
+      final int next = (i + 1) % n;
+      dx[i] = 3.0 * (p[2 * next] - p[2 * prev]);
+      dy[i] = 3.0 * (p[2 * next + 1] - p[2 * prev + 1]);
+      z[i] = 0.0;
+    }
+    z[0] = PeriodicSpline.GAMMA;
+    z[n - 1] = 1.0;
+
+    this.solveTridiagonal(n, dx, dy, z);
+
+    // Both corners of the cyclic matrix are 1
+    final double denominator = 1.0 + z[0] + z[n - 1] / PeriodicSpline.GAMMA;
+    final double factorX = (dx[0] + dx[n - 1] / PeriodicSpline.GAMMA) / denominator;
+    final double factorY = (dy[0] + dy[n - 1] / PeriodicSpline.GAMMA) / denominator;
+
+    for (int i = 0; i < n; i++) {
+      final int prev = (i + n - 1) % n;
+      final double tx = (dx[i] - factorX * z[i]) / 3.0;
+      final double ty = (dy[i] - factorY * z[i]) / 3.0;
+
+      c[4 * i] = p[2 * i] + tx;
+      c[4 * i + 1] = p[2 * i + 1] + ty;
+      c[4 * prev + 2] = p[2 * i] - tx;
+      c[4 * prev + 3] = p[2 * i + 1] - ty;
+    }
+  }
+
+  /**
+   * Thomas algorithm on the (1, 4, 1) matrix with the Sherman-Morrison corrected corners, applied
+   * in place to three right hand sides at once.
+   */
+  private void solveTridiagonal(
+      final int n, final double[] r1, final double[] r2, final double[] r3) {
+
+    final double[] g = this.gam;
+
+    double beta = PeriodicSpline.DIAGONAL - PeriodicSpline.GAMMA;
+    r1[0] /= beta;
+    r2[0] /= beta;
+    r3[0] /= beta;
+
+    for (int j = 1; j < n; j++) {
+      g[j] = 1.0 / beta;
+      beta =
+          (j == n - 1
+                  ? PeriodicSpline.DIAGONAL - 1.0 / PeriodicSpline.GAMMA
+                  : PeriodicSpline.DIAGONAL)
+              - g[j];
+      r1[j] = (r1[j] - r1[j - 1]) / beta;
+      r2[j] = (r2[j] - r2[j - 1]) / beta;
+      r3[j] = (r3[j] - r3[j - 1]) / beta;
+    }
+
+    for (int j = n - 2; j >= 0; j--) {
+      r1[j] -= g[j + 1] * r1[j + 1];
+      r2[j] -= g[j + 1] * r2[j + 1];
+      r3[j] -= g[j + 1] * r3[j + 1];
+    }
+  }
+
+  private void ensureCapacity(final int n) {
+
+    if (this.gam.length < n) {
+      this.gam = new double[n];
+      this.derivX = new double[n];
+      this.derivY = new double[n];
+      this.correction = new double[n];
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Class:     org.vonvikken.closedbezier.PingPongSimulation
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+/**
+ * Moves every parameter linearly from its start value to its end value and back, like an
+ * auto-reversing {@link javafx.animation.Timeline} with linear key values.
+ */
+final class PingPongSimulation implements CurveSimulation {
+
+  private final double[] from;
+  private final double[] to;
+  private final double halfPeriod;
+
+  /** @param halfPeriod seconds taken to go from the start values to the end values */
+  PingPongSimulation(final double[] from, final double[] to, final double halfPeriod) {
+
+    if (from.length != to.length) {
+      throw new IllegalArgumentException(
+          "Start and end states differ in size: " + from.length + " vs " + to.length);
+    }
+    if (!(halfPeriod > 0.0)) {
+      throw new IllegalArgumentException("Half period must be positive, got " + halfPeriod);
+    }
+
+    this.from = from.clone();
+    this.to = to.clone();
+    this.halfPeriod = halfPeriod;
+  }
+
+  @Override
+  public int getStateSize() {
+    return this.from.length;
+  }
+
+  @Override
+  public void initialize(final double[] state) {
+    System.arraycopy(this.from, 0, state, 0, this.from.length);
+  }
+
+  @Override
+  public void step(
+      final long step, final double stepSeconds, final double[] previous, final double[] next) {
+
+    // Evaluated from the step index rather than accumulated, so no rounding error builds up
+    final double cycle = (step * stepSeconds / this.halfPeriod) % 2.0;
+    final double progress = cycle <= 1.0 ? cycle : 2.0 - cycle;
+
+    for (int i = 0; i < next.length; i++) {
+      next[i] = this.from[i] + (this.to[i] - this.from[i]) * progress;
+    }
+  }
+}
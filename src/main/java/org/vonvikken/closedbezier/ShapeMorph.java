@@ -0,0 +1,290 @@
+/*
+ * Class:     org.vonvikken.closedbezier.ShapeMorph
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+/**
+ * Morphs between two {@link BezierLoop}s that may have different node counts.
+ *
+ * <p>Both loops are brought once, at construction, to the same number of nodes by splitting their
+ * segments with de Casteljau, so that their shape does not change at all: the extra nodes go to
+ * the longest segments, which are cut in pieces of equal arc length. The end loop is then reversed
+ * if it winds the other way and rotated so that its nodes match the closest nodes of the start
+ * loop. A frame only costs a linear interpolation of two primitive arrays, and the first and last
+ * frames are the input loops.
+ */
+final class ShapeMorph {
+
+  /** Chords per segment used to measure the arc length. */
+  private static final int SAMPLES_PER_SEGMENT = 32;
+
+  private static final int MIN_SIZE = 3;
+
+  private final BezierLoop start;
+  private final BezierLoop end;
+
+  ShapeMorph(final BezierLoop from, final BezierLoop to) {
+    this(from, to, Math.max(ShapeMorph.MIN_SIZE, Math.max(from.size(), to.size())));
+  }
+
+  /** @param size node count of the morph, no less than the node count of either loop */
+  ShapeMorph(final BezierLoop from, final BezierLoop to, final int size) {
+
+    if (size < ShapeMorph.MIN_SIZE) {
+      throw new IllegalArgumentException(
+          "Morphing needs at least " + ShapeMorph.MIN_SIZE + " nodes, got " + size);
+    }
+
+    this.start = ShapeMorph.resample(from, size);
+    final BezierLoop resampled = ShapeMorph.resample(to, size);
+
+    this.end =
+        CurveGeometry.signedArea(from) * CurveGeometry.signedArea(to) < 0.0
+            ? ShapeMorph.reverse(resampled)
+            : resampled;
+    ShapeMorph.rotate(this.end, ShapeMorph.bestOffset(this.start, this.end));
+  }
+
+  int size() {
+    return this.start.size();
+  }
+
+  /** Writes into {@code dest} the shape at {@code progress}, from 0 (start) to 1 (end). */
+  void interpolate(final double progress, final BezierLoop dest) {
+
+    if (dest.size() != this.start.size()) {
+      throw new IllegalArgumentException(
+          "Expected a loop of " + this.start.size() + " nodes, got " + dest.size());
+    }
+
+    ShapeMorph.lerp(this.start.getNodes(), this.end.getNodes(), progress, dest.getNodes());
+    ShapeMorph.lerp(this.start.getControls(), this.end.getControls(), progress, dest.getControls());
+  }
+
+  private static void lerp(
+      final double[] from, final double[] to, final double progress, final double[] dest) {
+
+    for (int i = 0; i < dest.length; i++) {
+      dest[i] = from[i] + (to[i] - from[i]) * progress;
+    }
+  }
+
+  /**
+   * The same curve as {@code loop} with {@code size} nodes, starting from its first node. Every
+   * node of {@code loop} is kept, and each new one splits the segment that has the longest pieces
+   * so far into pieces of equal arc length.
+   */
+  static BezierLoop resample(final BezierLoop loop, final int size) {
+
+    final int n = loop.size();
+    if (size < n) {
+      throw new IllegalArgumentException(
+          "Cannot resample a loop of " + n + " nodes to " + size + " nodes");
+    }
+
+    final double[] seg = new double[8];
+    final double[] lengths = new double[(ShapeMorph.SAMPLES_PER_SEGMENT + 1) * n];
+    final int[] pieces = new int[n];
+    for (int i = 0; i < n; i++) {
+      loop.copySegment(i, seg, 0);
+      ShapeMorph.measure(seg, lengths, i * (ShapeMorph.SAMPLES_PER_SEGMENT + 1));
+      pieces[i] = 1;
+    }
+
+    for (int added = n; added < size; added++) {
+      int longest = 0;
+      for (int i = 1; i < n; i++) {
+        if (ShapeMorph.pieceLength(lengths, pieces, i)
+            > ShapeMorph.pieceLength(lengths, pieces, longest)) {
+          longest = i;
+        }
+      }
+      pieces[longest]++;
+    }
+
+    final var result = new BezierLoop(size);
+    int node = 0;
+    for (int i = 0; i < n; i++) {
+      loop.copySegment(i, seg, 0);
+      final int table = i * (ShapeMorph.SAMPLES_PER_SEGMENT + 1);
+      final double total = lengths[table + ShapeMorph.SAMPLES_PER_SEGMENT];
+
+      double cut = 0.0;
+      for (int piece = 1; piece < pieces[i]; piece++) {
+        final double t = ShapeMorph.parameterAt(lengths, table, total * piece / pieces[i]);
+        // The remaining piece starts at the previous cut
+        ShapeMorph.split(seg, (t - cut) / (1.0 - cut), result, node);
+        cut = t;
+        node++;
+      }
+
+      result.setNode(node, seg[0], seg[1]);
+      result.setSegmentControls(node, seg[2], seg[3], seg[4], seg[5]);
+      node++;
+    }
+
+    return result;
+  }
+
+  /** Cumulated chord lengths along the segment in {@code seg}, written at {@code offset}. */
+  private static void measure(final double[] seg, final double[] lengths, final int offset) {
+
+    lengths[offset] = 0.0;
+    double lastX = seg[0];
+    double lastY = seg[1];
+    for (int sample = 1; sample <= ShapeMorph.SAMPLES_PER_SEGMENT; sample++) {
+      final double t = (double) sample / ShapeMorph.SAMPLES_PER_SEGMENT;
+      final double x = CurveGeometry.evaluate(seg[0], seg[2], seg[4], seg[6], t);
+      final double y = CurveGeometry.evaluate(seg[1], seg[3], seg[5], seg[7], t);
+      lengths[offset + sample] = lengths[offset + sample - 1] + Math.hypot(x - lastX, y - lastY);
+      lastX = x;
+      lastY = y;
+    }
+  }
+
+  private static double pieceLength(final double[] lengths, final int[] pieces, final int i) {
+    return lengths[(i + 1) * (ShapeMorph.SAMPLES_PER_SEGMENT + 1) - 1] / pieces[i];
+  }
+
+  /** Parameter at arc length {@code target} in the chord table at {@code offset}. */
+  private static double parameterAt(final double[] lengths, final int offset, final double target) {
+
+    int sample = 0;
+    while (sample < ShapeMorph.SAMPLES_PER_SEGMENT - 1 && lengths[offset + sample + 1] < target) {
+      sample++;
+    }
+
+    final double span = lengths[offset + sample + 1] - lengths[offset + sample];
+    final double fraction = span > 0.0 ? (target - lengths[offset + sample]) / span : 0.0;
+    return (sample + fraction) / ShapeMorph.SAMPLES_PER_SEGMENT;
+  }
+
+  /**
+   * Splits the segment in {@code seg} at {@code t} with de Casteljau: the first half is written to
+   * segment {@code node} of {@code dest}, and {@code seg} keeps the second one.
+   */
+  private static void split(
+      final double[] seg, final double t, final BezierLoop dest, final int node) {
+
+    dest.setNode(node, seg[0], seg[1]);
+    final double[] controls = dest.getControls();
+    for (int axis = 0; axis < 2; axis++) {
+      final double p0 = seg[axis];
+      final double p1 = seg[2 + axis];
+      final double p2 = seg[4 + axis];
+      final double p3 = seg[6 + axis];
+      final double p01 = p0 + (p1 - p0) * t;
+      final double p12 = p1 + (p2 - p1) * t;
+      final double p23 = p2 + (p3 - p2) * t;
+      final double p012 = p01 + (p12 - p01) * t;
+      final double p123 = p12 + (p23 - p12) * t;
+
+      controls[4 * node + axis] = p01;
+      controls[4 * node + 2 + axis] = p012;
+      seg[axis] = p012 + (p123 - p012) * t;
+      seg[2 + axis] = p123;
+      seg[4 + axis] = p23;
+    }
+  }
+
+  /**
+   * Rotation of the nodes of {@code end} that minimizes the squared distance to the nodes of
+   * {@code start}, once both are centered on their mean node.
+   */
+  private static int bestOffset(final BezierLoop start, final BezierLoop end) {
+
+    final int n = start.size();
+    final double[] a = start.getNodes();
+    final double[] b = end.getNodes();
+    final double[] meanA = ShapeMorph.mean(a);
+    final double[] meanB = ShapeMorph.mean(b);
+
+    int best = 0;
+    double bestCost = Double.POSITIVE_INFINITY;
+    for (int offset = 0; offset < n; offset++) {
+      double cost = 0.0;
+      for (int i = 0; i < n && cost < bestCost; i++) {
+        final int j = (i + offset) % n;
+        final double dx = (a[2 * i] - meanA[0]) - (b[2 * j] - meanB[0]);
+        final double dy = (a[2 * i + 1] - meanA[1]) - (b[2 * j + 1] - meanB[1]);
+        cost += dx * dx + dy * dy;
+      }
+      if (cost < bestCost) {
+        bestCost = cost;
+        best = offset;
+      }
+    }
+
+    return best;
+  }
+
+  private static double[] mean(final double[] nodes) {
+
+    final int n = nodes.length / 2;
+    double sumX = 0.0;
+    double sumY = 0.0;
+    for (int i = 0; i < n; i++) {
+      sumX += nodes[2 * i];
+      sumY += nodes[2 * i + 1];
+    }
+    return new double[] {sumX / n, sumY / n};
+  }
+
+  /**
+   * The same curve travelled the other way, from the same first node: segment {@code i} is the
+   * segment {@code size - 1 - i} of {@code loop} with its control points swapped.
+   */
+  private static BezierLoop reverse(final BezierLoop loop) {
+
+    final int n = loop.size();
+    final double[] controls = loop.getControls();
+    final var result = new BezierLoop(n);
+    for (int i = 0; i < n; i++) {
+      final int node = (n - i) % n;
+      final int segment = 4 * (n - 1 - i);
+      result.setNode(i, loop.getNodeX(node), loop.getNodeY(node));
+      result.setSegmentControls(
+          i,
+          controls[segment + 2],
+          controls[segment + 3],
+          controls[segment],
+          controls[segment + 1]);
+    }
+    return result;
+  }
+
+  /** Makes node {@code offset} the first one, together with its segment. */
+  private static void rotate(final BezierLoop loop, final int offset) {
+
+    if (offset == 0) {
+      return;
+    }
+
+    ShapeMorph.rotate(loop.getNodes(), 2 * offset);
+    ShapeMorph.rotate(loop.getControls(), 4 * offset);
+  }
+
+  private static void rotate(final double[] values, final int offset) {
+
+    final double[] rotated = new double[values.length];
+    System.arraycopy(values, offset, rotated, 0, values.length - offset);
+    System.arraycopy(values, 0, rotated, values.length - offset, offset);
+    System.arraycopy(rotated, 0, values, 0, values.length);
+  }
+}
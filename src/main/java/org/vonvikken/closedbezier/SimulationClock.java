@@ -0,0 +1,209 @@
+/*
+ * Class:     org.vonvikken.closedbezier.SimulationClock
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import javafx.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Advances a {@link CurveSimulation} at a fixed step on a dedicated thread, independently of the
+ * display refresh rate.
+ *
+ * <p>Every step publishes an immutable snapshot holding the last two states. Readers on any thread
+ * sample it and interpolate between the two states according to the time elapsed since the
+ * snapshot was published, so rendering always lags the simulation by at most one step.
+ */
+final class SimulationClock {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SimulationClock.class);
+
+  /** Steps the clock may fall behind before it stops trying to catch up. */
+  private static final int MAX_LAG_STEPS = 10;
+
+  private final CurveSimulation simulation;
+  private final long stepNanos;
+  private final double stepSeconds;
+
+  private volatile Snapshot latest;
+  private volatile double speed = 1.0;
+  private volatile boolean running;
+  private volatile long droppedSteps;
+  private Thread thread;
+
+  SimulationClock(final CurveSimulation simulation, final Duration step) {
+
+    if (!(step.toMillis() > 0.0)) {
+      throw new IllegalArgumentException("Step must be positive, got " + step);
+    }
+
+    this.simulation = simulation;
+    this.stepNanos = Math.round(step.toMillis() * TimeUnit.MILLISECONDS.toNanos(1L));
+    this.stepSeconds = step.toSeconds();
+
+    final double[] initial = new double[simulation.getStateSize()];
+    simulation.initialize(initial);
+    this.latest = new Snapshot(0L, System.nanoTime(), initial, initial);
+  }
+
+  synchronized void start() {
+
+    if (this.running) {
+      return;
+    }
+
+    this.running = true;
+    this.thread = new Thread(this::run, "simulation-clock");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  synchronized void stop() {
+
+    if (!this.running) {
+      return;
+    }
+
+    this.running = false;
+    LockSupport.unpark(this.thread);
+    try {
+      this.thread.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    this.thread = null;
+  }
+
+  /** Runs {@code steps} steps on the calling thread, as fast as possible. */
+  synchronized void advance(final long steps) {
+
+    if (this.running) {
+      throw new IllegalStateException("Cannot advance manually while the clock is running");
+    }
+
+    for (long i = 0L; i < steps; i++) {
+      this.doStep();
+    }
+  }
+
+  /**
+   * Writes into {@code dest} the state at time {@code nowNanos}, on the {@link System#nanoTime()}
+   * scale, interpolated between the last two steps.
+   */
+  void sample(final long nowNanos, final double[] dest) {
+
+    final Snapshot snapshot = this.latest;
+    final double interval = this.stepNanos / this.speed;
+    final double elapsed = (nowNanos - snapshot.publishedNanos) / interval;
+    final double alpha = Math.max(0.0, Math.min(1.0, elapsed));
+
+    for (int i = 0; i < dest.length; i++) {
+      final double previous = snapshot.previous[i];
+      dest[i] = previous + (snapshot.current[i] - previous) * alpha;
+    }
+  }
+
+  private void run() {
+
+    long deadline = System.nanoTime();
+    while (this.running) {
+      this.doStep();
+
+      deadline += Math.round(this.stepNanos / this.speed);
+      final long wait = deadline - System.nanoTime();
+      if (wait > 0L) {
+        LockSupport.parkNanos(this, wait);
+      } else if (-wait > SimulationClock.MAX_LAG_STEPS * this.stepNanos / this.speed) {
+        // Too far behind: drop the backlog instead of spiralling
+        final long dropped = Math.round(-wait * this.speed / this.stepNanos);
+        this.droppedSteps += dropped;
+        SimulationClock.LOGGER.debug("Simulation lagging, {} steps dropped", dropped);
+        deadline = System.nanoTime();
+      }
+    }
+  }
+
+  private void doStep() {
+
+    final Snapshot snapshot = this.latest;
+    final long step = snapshot.step + 1L;
+    final double[] next = new double[snapshot.current.length];
+    this.simulation.step(step, this.stepSeconds, snapshot.current, next);
+    this.latest = new Snapshot(step, System.nanoTime(), snapshot.current, next);
+  }
+
+  int getStateSize() {
+    return this.simulation.getStateSize();
+  }
+
+  long getStepCount() {
+    return this.latest.step;
+  }
+
+  /** When the last step was published, on the {@link System#nanoTime()} scale. */
+  long getPublishedNanos() {
+    return this.latest.publishedNanos;
+  }
+
+  /** Steps skipped because the simulation could not keep up with real time. */
+  long getDroppedSteps() {
+    return this.droppedSteps;
+  }
+
+  double getSpeed() {
+    return this.speed;
+  }
+
+  /** Simulated seconds per real second. */
+  void setSpeed(final double speed) {
+
+    if (!(speed > 0.0)) {
+      throw new IllegalArgumentException("Speed must be positive, got " + speed);
+    }
+
+    this.speed = speed;
+  }
+
+  boolean isRunning() {
+    return this.running;
+  }
+
+  private static final class Snapshot {
+
+    private final long step;
+    private final long publishedNanos;
+    private final double[] previous;
+    private final double[] current;
+
+    private Snapshot(
+        final long step,
+        final long publishedNanos,
+        final double[] previous,
+        final double[] current) {
+
+      this.step = step;
+      this.publishedNanos = publishedNanos;
+      this.previous = previous;
+      this.current = current;
+    }
+  }
+}
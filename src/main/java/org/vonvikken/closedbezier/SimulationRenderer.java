@@ -0,0 +1,83 @@
+/*
+ * Class:     org.vonvikken.closedbezier.SimulationRenderer
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import java.util.List;
+import java.util.function.Consumer;
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.DoubleProperty;
+
+/**
+ * Copies the state of a {@link SimulationClock} into curve properties on every pulse, interpolated
+ * at the pulse time. The properties of a pulse are written in a single batch, so that a curve
+ * listening to all of them can rebuild its path once.
+ */
+final class SimulationRenderer extends AnimationTimer {
+
+  private final SimulationClock clock;
+  private final List<DoubleProperty> targets;
+  private final Consumer<Runnable> batch;
+  private final Runnable writeTargets = this::writeTargets;
+  private final double[] buffer;
+  private long renderedFrames;
+
+  SimulationRenderer(final SimulationClock clock, final List<DoubleProperty> targets) {
+    this(clock, targets, Runnable::run);
+  }
+
+  /**
+   * @param batch runs the writes of a pulse as one update, like {@link
+   *     ClosedBezierCurve#batchUpdate(Runnable)}
+   */
+  SimulationRenderer(
+      final SimulationClock clock,
+      final List<DoubleProperty> targets,
+      final Consumer<Runnable> batch) {
+
+    if (targets.size() != clock.getStateSize()) {
+      throw new IllegalArgumentException(
+          "Expected " + clock.getStateSize() + " target properties, got " + targets.size());
+    }
+
+    this.clock = clock;
+    this.targets = List.copyOf(targets);
+    this.batch = batch;
+    this.buffer = new double[targets.size()];
+  }
+
+  @Override
+  public void handle(final long now) {
+
+    this.clock.sample(now, this.buffer);
+    this.batch.accept(this.writeTargets);
+    this.renderedFrames++;
+  }
+
+  private void writeTargets() {
+
+    for (int i = 0; i < this.buffer.length; i++) {
+      this.targets.get(i).set(this.buffer[i]);
+    }
+  }
+
+  long getRenderedFrames() {
+    return this.renderedFrames;
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Class:     org.vonvikken.closedbezier.TangentMode
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+/** How the control points of a closed curve are obtained. */
+public enum TangentMode {
+  /** Control points placed by {@link ControlPoint} using the configured distance. */
+  MANUAL,
+  /** Closed Catmull-Rom tangents (G1 at the nodes). */
+  CATMULL_ROM,
+  /** Periodic cubic spline through the nodes (C2 at the nodes). */
+  PERIODIC_SPLINE
+}
@@ -0,0 +1,114 @@
+/*
+ * Class:     org.vonvikken.closedbezier.BezierLoopTest
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import org.junit.jupiter.api.Test;
+
+class BezierLoopTest {
+
+  /** Coordinates held by a loop of two nodes: 4 for the nodes and 8 for the control points. */
+  private static final int VALUES = 12;
+
+  /** Fills a loop of two nodes with {@code values} and checks its path against String.format. */
+  private static void assertFormattedLikeFormatter(final double... values) {
+
+    final var loop = new BezierLoop(2);
+    loop.setNode(0, values[0], values[1]);
+    loop.setNode(1, values[2], values[3]);
+    loop.setSegmentControls(0, values[4], values[5], values[6], values[7]);
+    loop.setSegmentControls(1, values[8], values[9], values[10], values[11]);
+
+    final String expected =
+        String.format(
+            Locale.ENGLISH,
+            "M %.2f %.2f C %.2f %.2f %.2f %.2f %.2f %.2f C %.2f %.2f %.2f %.2f %.2f %.2f Z",
+            values[0],
+            values[1],
+            values[4],
+            values[5],
+            values[6],
+            values[7],
+            values[2],
+            values[3],
+            values[8],
+            values[9],
+            values[10],
+            values[11],
+            values[0],
+            values[1]);
+    assertEquals(expected, loop.toSvgContent());
+  }
+
+  @Test
+  void pathMatchesTheFormatterOnRandomValues() {
+
+    final var random = new Random(42L);
+    for (int i = 0; i < 10_000; i++) {
+      BezierLoopTest.assertFormattedLikeFormatter(
+          DoubleStream.generate(
+                  () -> (random.nextDouble() - 0.5) * Math.pow(10.0, random.nextInt(14) - 3))
+              .limit(BezierLoopTest.VALUES)
+              .toArray());
+    }
+  }
+
+  @Test
+  void pathMatchesTheFormatterOnDecimalTies() {
+
+    final var random = new Random(7L);
+    for (int i = 0; i < 10_000; i++) {
+      BezierLoopTest.assertFormattedLikeFormatter(
+          DoubleStream.generate(() -> (random.nextInt(2_000_001) - 1_000_000 + 0.5) / 100.0)
+              .limit(BezierLoopTest.VALUES)
+              .toArray());
+    }
+  }
+
+  @Test
+  void pathMatchesTheFormatterOnEdgeCases() {
+
+    BezierLoopTest.assertFormattedLikeFormatter(
+        0.0, -0.0, -0.001, 0.005, 0.125, 0.145, -0.145, 1.005, 2.675, 999.995, 1e12, -1e300);
+    BezierLoopTest.assertFormattedLikeFormatter(
+        Double.NaN,
+        Double.POSITIVE_INFINITY,
+        Double.NEGATIVE_INFINITY,
+        Double.MIN_VALUE,
+        -Double.MIN_VALUE,
+        0.994999,
+        0.995,
+        9.995,
+        99.995,
+        999_999_999.995,
+        1e9,
+        -4.9999);
+  }
+
+  @Test
+  void loopNeedsTwoNodes() {
+    assertThrows(IllegalArgumentException.class, () -> new BezierLoop(1));
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * Class:     org.vonvikken.closedbezier.ClosedBezierCurveTest
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Point2D;
+import javafx.util.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+@ExtendWith(HeadlessPlatformExtension.class)
+class ClosedBezierCurveTest {
+
+  private static final double EPSILON = 1e-9;
+
+  private ClosedBezierCurve curve;
+
+  @BeforeEach
+  void setUp() {
+
+    this.curve = new ClosedBezierCurve(new SimpleObjectProperty<>(new Point2D(800.0, 600.0)));
+    this.curve.magnitude1Property().set(1.0);
+    this.curve.phase1Property().set(0.15);
+    this.curve.magnitude2Property().set(0.75);
+    this.curve.phase2Property().set(0.3);
+    this.curve.magnitude3Property().set(0.5);
+    this.curve.phase3Property().set(0.5);
+    this.curve.magnitude4Property().set(0.25);
+    this.curve.phase4Property().set(0.6);
+    this.curve.controlPointDistanceProperty().set(100.0);
+  }
+
+  /** Each node must lie on the segment joining its incoming and outgoing control points. */
+  private static void assertG1(final BezierLoop loop) {
+
+    final double[] p = loop.getNodes();
+    final double[] c = loop.getControls();
+    final int n = loop.size();
+
+    for (int i = 0; i < n; i++) {
+      final int prev = (i + n - 1) % n;
+      final double inX = p[2 * i] - c[4 * prev + 2];
+      final double inY = p[2 * i + 1] - c[4 * prev + 3];
+      final double outX = c[4 * i] - p[2 * i];
+      final double outY = c[4 * i + 1] - p[2 * i + 1];
+      final double scale = Math.hypot(inX, inY) * Math.hypot(outX, outY);
+
+      assertTrue(scale > 0.0, "Degenerate handle at node " + i);
+      assertEquals(0.0, (inX * outY - inY * outX) / scale, ClosedBezierCurveTest.EPSILON);
+      assertTrue(inX * outX + inY * outY > 0.0, "Handles on the same side at node " + i);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(TangentMode.class)
+  void joinsAreG1Continuous(final TangentMode mode) {
+
+    this.curve.tangentModeProperty().set(mode);
+    ClosedBezierCurveTest.assertG1(this.curve.getLoop());
+  }
+
+  @ParameterizedTest
+  @EnumSource(TangentMode.class)
+  void joinsStayG1ContinuousWhileAnimated(final TangentMode mode) {
+
+    this.curve.tangentModeProperty().set(mode);
+    for (int frame = 0; frame <= 20; frame++) {
+      final double t = frame / 20.0;
+      this.curve.magnitude1Property().set(1.0 - 0.9 * t);
+      this.curve.phase1Property().set(0.15 + 0.7 * t);
+      this.curve.magnitude3Property().set(0.5 + 0.4 * t);
+      this.curve.phase4Property().set(0.6 - 0.5 * t);
+      ClosedBezierCurveTest.assertG1(this.curve.getLoop());
+    }
+  }
+
+  @Test
+  void loopMatchesTheNodes() {
+
+    final BezierLoop loop = this.curve.getLoop();
+    final PolarPoint[] points = {
+      this.curve.getPoint1(), this.curve.getPoint2(), this.curve.getPoint3(), this.curve.getPoint4()
+    };
+
+    for (int i = 0; i < points.length; i++) {
+      assertEquals(points[i].getX(), loop.getNodeX(i), ClosedBezierCurveTest.EPSILON);
+      assertEquals(points[i].getY(), loop.getNodeY(i), ClosedBezierCurveTest.EPSILON);
+    }
+  }
+
+  @Test
+  void periodicSplineIsC2Continuous() {
+
+    this.curve.tangentModeProperty().set(TangentMode.PERIODIC_SPLINE);
+    final BezierLoop loop = this.curve.getLoop();
+    final double[] before = new double[8];
+    final double[] after = new double[8];
+
+    for (int i = 0; i < loop.size(); i++) {
+      loop.copySegment(i, before, 0);
+      loop.copySegment((i + 1) % loop.size(), after, 0);
+      for (int axis = 0; axis < 2; axis++) {
+        final double end = before[2 + axis] - 2.0 * before[4 + axis] + before[6 + axis];
+        final double start = after[axis] - 2.0 * after[2 + axis] + after[4 + axis];
+        assertEquals(end, start, 1e-6);
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(TangentMode.class)
+  void pathIsClosed(final TangentMode mode) {
+
+    this.curve.tangentModeProperty().set(mode);
+    final String content = this.curve.getContent();
+
+    assertTrue(content.startsWith("M "), content);
+    assertTrue(content.endsWith(" Z"), content);
+  }
+
+  @Test
+  void pathFollowsTheProperties() {
+
+    final String before = this.curve.getContent();
+    this.curve.magnitude2Property().set(0.3);
+
+    assertNotEquals(before, this.curve.getContent());
+  }
+
+  @Test
+  void pathFollowsTheControlPointDistance() {
+
+    final String before = this.curve.getContent();
+    final double[] controls = this.curve.getLoop().getControls().clone();
+    this.curve.controlPointDistanceProperty().set(40.0);
+
+    assertNotEquals(before, this.curve.getContent());
+    assertNotEquals(controls[0], this.curve.getLoop().getControls()[0]);
+    ClosedBezierCurveTest.assertG1(this.curve.getLoop());
+  }
+
+  @Test
+  void smallCurvesAreFlattened() {
+
+    final LevelOfDetail levelOfDetail = this.curve.getLevelOfDetail();
+    levelOfDetail.flatteningThresholdProperty().set(10_000.0);
+    levelOfDetail.enabledProperty().set(true);
+
+    assertEquals(DetailLevel.MINIMAL, this.curve.detailLevelProperty().get());
+    assertTrue(this.curve.getContent().contains(" L "), this.curve.getContent());
+  }
+
+  @Test
+  void subPixelMotionIsSkipped() {
+
+    final LevelOfDetail levelOfDetail = this.curve.getLevelOfDetail();
+    levelOfDetail.enabledProperty().set(true);
+    levelOfDetail.resetStatistics();
+    final String before = this.curve.getContent();
+
+    this.curve.magnitude1Property().set(this.curve.magnitude1Property().get() + 1e-6);
+
+    assertEquals(before, this.curve.getContent());
+    assertEquals(0L, levelOfDetail.getRenderedUpdates());
+    assertTrue(levelOfDetail.getSkippedUpdates() > 0L);
+  }
+
+  @Test
+  void screenSizeIncludesTheHandles() {
+
+    // The nodes are 6 px from the center but the handles are 100 px long
+    this.curve.magnitude1Property().set(0.01);
+    this.curve.magnitude2Property().set(0.01);
+    this.curve.magnitude3Property().set(0.01);
+    this.curve.magnitude4Property().set(0.01);
+    this.curve.getLevelOfDetail().enabledProperty().set(true);
+
+    assertEquals(DetailLevel.FULL, this.curve.detailLevelProperty().get());
+  }
+
+  @Test
+  void motionThresholdChangeIsRendered() {
+
+    final LevelOfDetail levelOfDetail = this.curve.getLevelOfDetail();
+    levelOfDetail.enabledProperty().set(true);
+    this.curve.magnitude1Property().set(this.curve.magnitude1Property().get() + 1e-4);
+    levelOfDetail.resetStatistics();
+
+    levelOfDetail.motionThresholdProperty().set(0.01);
+
+    assertEquals(1L, levelOfDetail.getRenderedUpdates());
+  }
+
+  @Test
+  void skippedMotionIsRenderedOnceSettled() throws Exception {
+
+    final LevelOfDetail levelOfDetail = this.curve.getLevelOfDetail();
+    ClosedBezierCurveTest.onFxThread(
+        () -> {
+          levelOfDetail.settleDelayProperty().set(Duration.millis(20.0));
+          levelOfDetail.enabledProperty().set(true);
+          levelOfDetail.resetStatistics();
+          this.curve.magnitude1Property().set(this.curve.magnitude1Property().get() + 1e-4);
+          return levelOfDetail.getSkippedUpdates();
+        });
+
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2L);
+    long rendered = 0L;
+    while (rendered == 0L && System.nanoTime() < deadline) {
+      Thread.sleep(10L);
+      rendered = ClosedBezierCurveTest.onFxThread(levelOfDetail::getRenderedUpdates);
+    }
+
+    assertEquals(1L, rendered);
+    assertTrue(levelOfDetail.getSkippedUpdates() > 0L);
+  }
+
+  private static <T> T onFxThread(final Callable<T> task) throws Exception {
+
+    final var result = new CompletableFuture<T>();
+    Platform.runLater(
+        () -> {
+          try {
+            result.complete(task.call());
+          } catch (final Exception e) {
+            result.completeExceptionally(e);
+          }
+        });
+    return result.get(2L, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void areaMatchesTheFlattenedPolygon() {
+
+    this.curve.tangentModeProperty().set(TangentMode.PERIODIC_SPLINE);
+    final BezierLoop loop = this.curve.getLoop();
+
+    // Shoelace formula on a dense sampling of the curve
+    final int samples = 2000;
+    final double[] seg = new double[8];
+    double polygon = 0.0;
+    double lastX = loop.getNodeX(0);
+    double lastY = loop.getNodeY(0);
+    for (int i = 0; i < loop.size(); i++) {
+      loop.copySegment(i, seg, 0);
+      for (int k = 1; k <= samples; k++) {
+        final double t = (double) k / samples;
+        final double x = CurveGeometry.evaluate(seg[0], seg[2], seg[4], seg[6], t);
+        final double y = CurveGeometry.evaluate(seg[1], seg[3], seg[5], seg[7], t);
+        polygon += lastX * y - x * lastY;
+        lastX = x;
+        lastY = y;
+      }
+    }
+
+    assertEquals(polygon / 2.0, CurveGeometry.signedArea(loop), Math.abs(polygon) * 1e-5);
+  }
+}
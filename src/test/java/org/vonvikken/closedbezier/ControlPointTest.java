@@ -0,0 +1,106 @@
+/*
+ * Class:     org.vonvikken.closedbezier.ControlPointTest
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ControlPointTest {
+
+  private static final double EPSILON = 1e-9;
+  private static final double CENTER = 150.0;
+  private static final double DISTANCE = 30.0;
+
+  private PolarPoint node;
+  private ControlPoint controlA;
+  private ControlPoint controlB;
+
+  @BeforeEach
+  void setUp() {
+
+    this.node = new PolarPoint(Quadrant.UPPER_LEFT);
+    this.node.centerXProperty().set(ControlPointTest.CENTER);
+    this.node.centerYProperty().set(ControlPointTest.CENTER);
+    this.node.normalizedMagnitudeProperty().set(0.5);
+    this.node.normalizedPhaseProperty().set(0.3);
+
+    this.controlA = new ControlPoint(this.node, false);
+    this.controlB = new ControlPoint(this.node, true);
+    this.controlA.distanceProperty().set(ControlPointTest.DISTANCE);
+    this.controlB.distanceProperty().set(ControlPointTest.DISTANCE);
+  }
+
+  @Test
+  void controlPointsLieAtTheConfiguredDistance() {
+
+    assertEquals(
+        ControlPointTest.DISTANCE,
+        Math.hypot(
+            this.controlA.getX() - this.node.getX(), this.controlA.getY() - this.node.getY()),
+        ControlPointTest.EPSILON);
+    assertEquals(
+        ControlPointTest.DISTANCE,
+        Math.hypot(
+            this.controlB.getX() - this.node.getX(), this.controlB.getY() - this.node.getY()),
+        ControlPointTest.EPSILON);
+  }
+
+  @Test
+  void nodeIsTheMidpointOfItsControlPoints() {
+
+    assertEquals(
+        this.node.getX(),
+        (this.controlA.getX() + this.controlB.getX()) / 2.0,
+        ControlPointTest.EPSILON);
+    assertEquals(
+        this.node.getY(),
+        (this.controlA.getY() + this.controlB.getY()) / 2.0,
+        ControlPointTest.EPSILON);
+  }
+
+  @Test
+  void controlLineIsPerpendicularToTheRadius() {
+
+    final double radiusX = this.node.getX() - ControlPointTest.CENTER;
+    final double radiusY = this.node.getY() - ControlPointTest.CENTER;
+    final double handleX = this.controlA.getX() - this.node.getX();
+    final double handleY = this.controlA.getY() - this.node.getY();
+
+    assertEquals(0.0, radiusX * handleX + radiusY * handleY, ControlPointTest.EPSILON);
+  }
+
+  @Test
+  void controlPointsFollowTheNode() {
+
+    this.node.normalizedPhaseProperty().set(0.9);
+    this.node.normalizedMagnitudeProperty().set(0.2);
+
+    assertEquals(
+        this.node.getX(),
+        (this.controlA.getX() + this.controlB.getX()) / 2.0,
+        ControlPointTest.EPSILON);
+    assertEquals(
+        this.node.getY(),
+        (this.controlA.getY() + this.controlB.getY()) / 2.0,
+        ControlPointTest.EPSILON);
+  }
+}
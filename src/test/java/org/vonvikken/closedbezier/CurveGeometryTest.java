@@ -0,0 +1,120 @@
+/*
+ * Class:     org.vonvikken.closedbezier.CurveGeometryTest
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.Test;
+
+class CurveGeometryTest {
+
+  private static final double EPSILON = 1e-9;
+
+  /** Straight sides: the handles sit at the thirds of each edge. */
+  private static BezierLoop triangle() {
+
+    final var loop = new BezierLoop(3);
+    loop.setNode(0, 0.0, 0.0);
+    loop.setNode(1, 300.0, 0.0);
+    loop.setNode(2, 0.0, 150.0);
+    for (int i = 0; i < loop.size(); i++) {
+      final int next = (i + 1) % loop.size();
+      final double dx = (loop.getNodeX(next) - loop.getNodeX(i)) / 3.0;
+      final double dy = (loop.getNodeY(next) - loop.getNodeY(i)) / 3.0;
+      loop.setSegmentControls(
+          i,
+          loop.getNodeX(i) + dx,
+          loop.getNodeY(i) + dy,
+          loop.getNodeX(next) - dx,
+          loop.getNodeY(next) - dy);
+    }
+    return loop;
+  }
+
+  @Test
+  void centroidOfAPolygonIsTheMeanOfItsVertices() {
+
+    final Point2D centroid = CurveGeometry.centroid(CurveGeometryTest.triangle());
+
+    assertEquals(100.0, centroid.getX(), CurveGeometryTest.EPSILON);
+    assertEquals(50.0, centroid.getY(), CurveGeometryTest.EPSILON);
+  }
+
+  @Test
+  void centroidOfACircleIsItsCenter() {
+
+    final Point2D centroid = CurveGeometry.centroid(TestLoops.circle(300.0, -50.0, 80.0, 5, 0.4));
+
+    assertEquals(300.0, centroid.getX(), CurveGeometryTest.EPSILON);
+    assertEquals(-50.0, centroid.getY(), CurveGeometryTest.EPSILON);
+  }
+
+  @Test
+  void centroidDoesNotDependOnTheWinding() {
+
+    final BezierLoop loop = CurveGeometryTest.triangle();
+    final var reversed = new BezierLoop(loop.size());
+    final double[] seg = new double[8];
+    for (int i = 0; i < loop.size(); i++) {
+      // Segment i of the reversed loop runs backwards along segment size - 1 - i
+      loop.copySegment(loop.size() - 1 - i, seg, 0);
+      reversed.setNode(i, seg[6], seg[7]);
+      reversed.setSegmentControls(i, seg[4], seg[5], seg[2], seg[3]);
+    }
+
+    final Point2D expected = CurveGeometry.centroid(loop);
+    final Point2D actual = CurveGeometry.centroid(reversed);
+
+    assertTrue(CurveGeometry.signedArea(reversed) < 0.0);
+    assertEquals(expected.getX(), actual.getX(), CurveGeometryTest.EPSILON);
+    assertEquals(expected.getY(), actual.getY(), CurveGeometryTest.EPSILON);
+  }
+
+  @Test
+  void boundsIncludeTheExtremaInsideTheSegments() {
+
+    // Nodes on the diagonals: the extrema are at the middle of the segments, where the Bézier
+    // quarter circle meets the true circle
+    final Bounds bounds =
+        CurveGeometry.bounds(TestLoops.circle(300.0, -50.0, 80.0, 4, 0.25 * Math.PI));
+
+    assertEquals(220.0, bounds.getMinX(), CurveGeometryTest.EPSILON);
+    assertEquals(-130.0, bounds.getMinY(), CurveGeometryTest.EPSILON);
+    assertEquals(380.0, bounds.getMaxX(), CurveGeometryTest.EPSILON);
+    assertEquals(30.0, bounds.getMaxY(), CurveGeometryTest.EPSILON);
+  }
+
+  @Test
+  void boundsAreWrittenAtTheOffset() {
+
+    final BezierLoop loop = CurveGeometryTest.triangle();
+    final double[] dest = new double[6];
+    CurveGeometry.bounds(loop, dest, 2);
+
+    assertEquals(0.0, dest[1], 0.0);
+    assertEquals(0.0, dest[2], CurveGeometryTest.EPSILON);
+    assertEquals(0.0, dest[3], CurveGeometryTest.EPSILON);
+    assertEquals(300.0, dest[4], CurveGeometryTest.EPSILON);
+    assertEquals(150.0, dest[5], CurveGeometryTest.EPSILON);
+  }
+}
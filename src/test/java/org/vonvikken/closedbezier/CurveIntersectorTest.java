@@ -0,0 +1,194 @@
+/*
+ * Class:     org.vonvikken.closedbezier.CurveIntersectorTest
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.Test;
+
+class CurveIntersectorTest {
+
+  private static final double TOLERANCE = 0.01;
+
+  /** The handles put the Bézier circles this far from the true ones at most. */
+  private static final double ACCURACY = 0.05;
+
+  private final CurveIntersector intersector =
+      new CurveIntersector(CurveIntersectorTest.TOLERANCE);
+
+  private static void assertPoint(final double x, final double y, final Point2D point) {
+
+    assertEquals(x, point.getX(), CurveIntersectorTest.ACCURACY, point::toString);
+    assertEquals(y, point.getY(), CurveIntersectorTest.ACCURACY, point::toString);
+  }
+
+  @Test
+  void crossingLoopsMeetTwice() {
+
+    final List<Point2D> points =
+        this.intersector.intersect(
+            TestLoops.circle(0.0, 0.0, 100.0, 8, 0.1), TestLoops.circle(120.0, 0.0, 100.0, 8, 0.3));
+
+    assertEquals(2, points.size(), points::toString);
+    final boolean lowerFirst = points.get(0).getY() < points.get(1).getY();
+    CurveIntersectorTest.assertPoint(60.0, -80.0, points.get(lowerFirst ? 0 : 1));
+    CurveIntersectorTest.assertPoint(60.0, 80.0, points.get(lowerFirst ? 1 : 0));
+    assertFalse(this.intersector.isOverlapping());
+  }
+
+  @Test
+  void crossingOnANodeIsReportedOnce() {
+
+    // Both crossings are nodes of both loops, each shared by two segments
+    final List<Point2D> points =
+        this.intersector.intersect(
+            TestLoops.circle(0.0, 0.0, 100.0, 4, 0.0),
+            TestLoops.circle(100.0, 100.0, 100.0, 4, Math.PI));
+
+    assertEquals(2, points.size(), points::toString);
+    CurveIntersectorTest.assertPoint(0.0, 100.0, points.get(0));
+    CurveIntersectorTest.assertPoint(100.0, 0.0, points.get(1));
+    assertFalse(this.intersector.isOverlapping());
+  }
+
+  @Test
+  void tangentLoopsTouchOnce() {
+
+    // Node 0 of the first circle and node 4 of the second one are both at (100, 0)
+    final List<Point2D> points =
+        this.intersector.intersect(
+            TestLoops.circle(0.0, 0.0, 100.0, 8, 0.0), TestLoops.circle(200.0, 0.0, 100.0, 8, 0.0));
+
+    assertEquals(1, points.size(), points::toString);
+    CurveIntersectorTest.assertPoint(100.0, 0.0, points.get(0));
+    assertFalse(this.intersector.isOverlapping());
+  }
+
+  @Test
+  void tangentLoopsTouchOnceBetweenNodes() {
+
+    // Neither loop has a node at the point of contact
+    final List<Point2D> points =
+        this.intersector.intersect(
+            TestLoops.circle(0.0, 0.0, 100.0, 8, 0.3), TestLoops.circle(200.0, 0.0, 100.0, 8, 0.1));
+
+    assertEquals(1, points.size(), points::toString);
+    CurveIntersectorTest.assertPoint(100.0, 0.0, points.get(0));
+    assertFalse(this.intersector.isOverlapping());
+  }
+
+  @Test
+  void shallowCrossingsAreNotAnOverlap() {
+
+    // The circles cross at (99.995, -1) and (99.995, 1), at an angle of about a degree
+    final List<Point2D> points =
+        this.intersector.intersect(
+            TestLoops.circle(0.0, 0.0, 100.0, 8, 0.3),
+            TestLoops.circle(199.99, 0.0, 100.0, 8, 0.1));
+
+    assertEquals(2, points.size(), points::toString);
+    final boolean lowerFirst = points.get(0).getY() < points.get(1).getY();
+    // Along the nearly parallel curves the tolerance turns into a larger error
+    assertEquals(-1.0, points.get(lowerFirst ? 0 : 1).getY(), 0.1, points::toString);
+    assertEquals(1.0, points.get(lowerFirst ? 1 : 0).getY(), 0.1, points::toString);
+    assertEquals(99.995, points.get(0).getX(), CurveIntersectorTest.ACCURACY, points::toString);
+    assertFalse(this.intersector.isOverlapping());
+  }
+
+  @Test
+  void disjointLoopsDoNotMeet() {
+
+    assertTrue(
+        this.intersector
+            .intersect(
+                TestLoops.circle(0.0, 0.0, 100.0, 8, 0.0),
+                TestLoops.circle(0.0, 0.0, 50.0, 8, 0.0))
+            .isEmpty());
+    assertFalse(this.intersector.isOverlapping());
+  }
+
+  @Test
+  void coincidentLoopsAreReportedAsOverlapping() {
+
+    final BezierLoop loop = TestLoops.circle(0.0, 0.0, 100.0, 8, 0.0);
+    final BezierLoop copy = TestLoops.circle(0.0, 0.0, 100.0, 8, 0.0);
+
+    final List<Point2D> points =
+        assertTimeoutPreemptively(
+            Duration.ofSeconds(1L), () -> this.intersector.intersect(loop, copy));
+
+    assertTrue(this.intersector.isOverlapping());
+    assertTrue(points.isEmpty(), points::toString);
+  }
+
+  @Test
+  void sameCircleWithOtherNodesOverlaps() {
+
+    final List<Point2D> points =
+        assertTimeoutPreemptively(
+            Duration.ofSeconds(1L),
+            () ->
+                this.intersector.intersect(
+                    TestLoops.circle(0.0, 0.0, 100.0, 8, 0.0),
+                    TestLoops.circle(0.0, 0.0, 100.0, 13, 0.2)));
+
+    assertTrue(this.intersector.isOverlapping());
+    assertTrue(points.isEmpty(), points::toString);
+  }
+
+  @Test
+  void batchReportsEveryPairOnce() {
+
+    final List<Intersection> intersections =
+        this.intersector.intersectAll(
+            List.of(
+                TestLoops.circle(0.0, 0.0, 100.0, 8, 0.1),
+                TestLoops.circle(1000.0, 0.0, 100.0, 8, 0.0),
+                TestLoops.circle(120.0, 0.0, 100.0, 8, 0.3),
+                TestLoops.circle(0.0, 0.0, 100.0, 8, 0.1)));
+
+    final List<Intersection> crossings =
+        intersections.stream().filter(i -> !i.isOverlapping()).collect(Collectors.toList());
+    final List<Intersection> overlaps =
+        intersections.stream().filter(Intersection::isOverlapping).collect(Collectors.toList());
+
+    assertEquals(1, overlaps.size(), overlaps::toString);
+    assertEquals(0, overlaps.get(0).getFirst());
+    assertEquals(3, overlaps.get(0).getSecond());
+    assertEquals(
+        2L, crossings.stream().filter(i -> i.getFirst() == 0 && i.getSecond() == 2).count());
+    assertEquals(
+        2L, crossings.stream().filter(i -> i.getFirst() == 2 && i.getSecond() == 3).count());
+    assertTrue(crossings.stream().noneMatch(i -> i.getFirst() == 1 || i.getSecond() == 1));
+  }
+
+  @Test
+  void toleranceMustBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> new CurveIntersector(0.0));
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Class:     org.vonvikken.closedbezier.HeadlessPlatformExtension
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Starts the JavaFX platform once per test run. The surefire configuration selects the Monocle
+ * headless Glass platform and the software pipeline, so no display is needed.
+ */
+final class HeadlessPlatformExtension implements BeforeAllCallback {
+
+  private static final long STARTUP_TIMEOUT_SECONDS = 10L;
+  private static final CountDownLatch STARTED = new CountDownLatch(1);
+  private static boolean startRequested;
+
+  @Override
+  public void beforeAll(final ExtensionContext context) throws InterruptedException {
+
+    synchronized (HeadlessPlatformExtension.class) {
+      if (!HeadlessPlatformExtension.startRequested) {
+        HeadlessPlatformExtension.startRequested = true;
+        try {
+          Platform.startup(HeadlessPlatformExtension.STARTED::countDown);
+        } catch (final IllegalStateException e) {
+          // Already started by someone else
+          HeadlessPlatformExtension.STARTED.countDown();
+        }
+      }
+    }
+
+    if (!HeadlessPlatformExtension.STARTED.await(
+        HeadlessPlatformExtension.STARTUP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("JavaFX platform did not start");
+    }
+  }
+}
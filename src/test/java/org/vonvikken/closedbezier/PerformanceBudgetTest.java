@@ -0,0 +1,173 @@
+/*
+ * Class:     org.vonvikken.closedbezier.PerformanceBudgetTest
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Budgets of a frame update on a large loop: move every node, derive the control points, query
+ * the geometry and build the path content. {@link ClosedBezierCurve} only has four nodes, so the
+ * large loop goes through the layers below it, while a real curve is timed on its own budget. The
+ * limits come from the {@code budget.frame.millis}, {@code budget.frame.kilobytes} and {@code
+ * budget.curve.millis} system properties, set generously in the POM to absorb slow machines.
+ */
+@ExtendWith(HeadlessPlatformExtension.class)
+class PerformanceBudgetTest {
+
+  private static final int NODES = 1024;
+  private static final int WARM_UP_FRAMES = 2000;
+  private static final int MEASURED_FRAMES = 200;
+
+  private final BezierLoop loop = new BezierLoop(PerformanceBudgetTest.NODES);
+  private final PeriodicSpline spline = new PeriodicSpline();
+  private final double[] bounds = new double[4];
+  private final ClosedBezierCurve curve =
+      new ClosedBezierCurve(new SimpleObjectProperty<>(new Point2D(800.0, 600.0)));
+  private int frame;
+
+  @BeforeEach
+  void warmUp() {
+
+    this.curve.controlPointDistanceProperty().set(100.0);
+    for (int i = 0; i < PerformanceBudgetTest.WARM_UP_FRAMES; i++) {
+      this.update();
+      this.updateCurve();
+    }
+  }
+
+  private long update() {
+
+    final int n = this.loop.size();
+    final double wobble = this.frame++ * 0.05;
+    for (int i = 0; i < n; i++) {
+      final double angle = 2.0 * Math.PI * i / n;
+      final double radius = 300.0 + 20.0 * Math.sin(7.0 * angle + wobble);
+      this.loop.setNode(i, 800.0 + radius * Math.cos(angle), 600.0 + radius * Math.sin(angle));
+    }
+
+    this.spline.periodic(this.loop);
+    CurveGeometry.bounds(this.loop, this.bounds, 0);
+    final double area = CurveGeometry.signedArea(this.loop);
+    final String content = this.loop.toSvgContent();
+
+    // Keeps the results alive so that nothing is optimized away
+    return Double.doubleToLongBits(area) ^ content.length();
+  }
+
+  /** Moves the curve like the simulation does, one batch per frame. */
+  private long updateCurve() {
+
+    final double t = this.frame++ * 0.01;
+    this.curve.batchUpdate(
+        () -> {
+          this.curve.magnitude1Property().set(0.55 + 0.45 * Math.cos(t));
+          this.curve.phase1Property().set(0.5 + 0.35 * Math.sin(t));
+          this.curve.magnitude2Property().set(0.45 + 0.3 * Math.cos(1.3 * t));
+          this.curve.phase2Property().set(0.55 + 0.3 * Math.sin(1.3 * t));
+          this.curve.magnitude3Property().set(0.7 + 0.2 * Math.cos(0.7 * t));
+          this.curve.phase3Property().set(0.35 + 0.15 * Math.sin(0.7 * t));
+          this.curve.magnitude4Property().set(0.5 + 0.25 * Math.cos(1.7 * t));
+          this.curve.phase4Property().set(0.35 + 0.25 * Math.sin(1.7 * t));
+        });
+
+    return this.curve.getContent().length();
+  }
+
+  /** Median duration of the measured frames, in milliseconds. */
+  private static double median(final LongSupplier update, final long[] sink) {
+
+    final long[] durations = new long[PerformanceBudgetTest.MEASURED_FRAMES];
+    for (int i = 0; i < durations.length; i++) {
+      final long start = System.nanoTime();
+      sink[0] += update.getAsLong();
+      durations[i] = System.nanoTime() - start;
+    }
+
+    // The median is not thrown off by an occasional GC pause or descheduling
+    Arrays.sort(durations);
+    return durations[durations.length / 2] / 1e6;
+  }
+
+  private static double budget(final String property, final double defaultValue) {
+    return Double.parseDouble(System.getProperty(property, Double.toString(defaultValue)));
+  }
+
+  @Test
+  void frameUpdateStaysWithinTimeBudget() {
+
+    final double budget = PerformanceBudgetTest.budget("budget.frame.millis", 25.0);
+    final long[] sink = new long[1];
+    final double median = PerformanceBudgetTest.median(this::update, sink);
+
+    assertTrue(
+        median < budget,
+        String.format(
+            "Median frame update took %.3f ms, budget %.3f ms (%d)", median, budget, sink[0]));
+  }
+
+  @Test
+  void curveUpdateStaysWithinTimeBudget() {
+
+    final double budget = PerformanceBudgetTest.budget("budget.curve.millis", 5.0);
+    final long[] sink = new long[1];
+    final double median = PerformanceBudgetTest.median(this::updateCurve, sink);
+
+    assertTrue(
+        median < budget,
+        String.format(
+            "Median curve update took %.3f ms, budget %.3f ms (%d)", median, budget, sink[0]));
+  }
+
+  @Test
+  void frameUpdateStaysWithinAllocationBudget() {
+
+    final var threads = ManagementFactory.getThreadMXBean();
+    assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+    final var allocations = (com.sun.management.ThreadMXBean) threads;
+    assumeTrue(allocations.isThreadAllocatedMemorySupported());
+    allocations.setThreadAllocatedMemoryEnabled(true);
+
+    final double budget = PerformanceBudgetTest.budget("budget.frame.kilobytes", 256.0);
+    final long thread = Thread.currentThread().getId();
+    long sink = 0L;
+
+    final long before = allocations.getThreadAllocatedBytes(thread);
+    for (int i = 0; i < PerformanceBudgetTest.MEASURED_FRAMES; i++) {
+      sink += this.update();
+    }
+    final long after = allocations.getThreadAllocatedBytes(thread);
+
+    final double perFrame = (after - before) / 1024.0 / PerformanceBudgetTest.MEASURED_FRAMES;
+    assertTrue(
+        perFrame < budget,
+        String.format(
+            "Frame update allocated %.1f KB, budget %.1f KB (%d)", perFrame, budget, sink));
+  }
+}
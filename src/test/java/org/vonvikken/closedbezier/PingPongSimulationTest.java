@@ -0,0 +1,85 @@
+/*
+ * Class:     org.vonvikken.closedbezier.PingPongSimulationTest
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class PingPongSimulationTest {
+
+  private static final double EPSILON = 1e-12;
+
+  /** Steps of 10 ms, so that the 2 s half period lasts 200 steps. */
+  private static final double STEP_SECONDS = 0.01;
+
+  private static final double[] FROM = {1.0, 0.15};
+  private static final double[] TO = {0.1, 0.85};
+  private static final double[] MIDDLE = {0.55, 0.5};
+
+  private final PingPongSimulation simulation =
+      new PingPongSimulation(PingPongSimulationTest.FROM, PingPongSimulationTest.TO, 2.0);
+
+  private double[] state(final long step) {
+
+    final double[] state = new double[this.simulation.getStateSize()];
+    this.simulation.step(step, PingPongSimulationTest.STEP_SECONDS, new double[2], state);
+    return state;
+  }
+
+  @Test
+  void startsFromTheStartValues() {
+
+    final double[] state = new double[2];
+    this.simulation.initialize(state);
+    assertArrayEquals(PingPongSimulationTest.FROM, state, PingPongSimulationTest.EPSILON);
+  }
+
+  @Test
+  void reachesTheEndValuesAtTheHalfPeriod() {
+
+    assertArrayEquals(
+        PingPongSimulationTest.MIDDLE, this.state(100L), PingPongSimulationTest.EPSILON);
+    assertArrayEquals(PingPongSimulationTest.TO, this.state(200L), PingPongSimulationTest.EPSILON);
+  }
+
+  @Test
+  void reversesAfterTheHalfPeriod() {
+
+    final double[] before = this.state(199L);
+    final double[] after = this.state(201L);
+    assertArrayEquals(before, after, PingPongSimulationTest.EPSILON);
+
+    assertArrayEquals(
+        PingPongSimulationTest.MIDDLE, this.state(300L), PingPongSimulationTest.EPSILON);
+    assertArrayEquals(
+        PingPongSimulationTest.FROM, this.state(400L), PingPongSimulationTest.EPSILON);
+    assertArrayEquals(
+        PingPongSimulationTest.MIDDLE, this.state(500L), PingPongSimulationTest.EPSILON);
+  }
+
+  @Test
+  void statesMustHaveTheSameSize() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new PingPongSimulation(new double[2], new double[3], 1.0));
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Class:     org.vonvikken.closedbezier.PolarPointTest
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class PolarPointTest {
+
+  private static final double EPSILON = 1e-9;
+  private static final double CENTER_X = 200.0;
+  private static final double CENTER_Y = 100.0;
+
+  private static PolarPoint point(
+      final Quadrant quadrant, final double magnitude, final double phase) {
+
+    final var point = new PolarPoint(quadrant);
+    point.centerXProperty().set(PolarPointTest.CENTER_X);
+    point.centerYProperty().set(PolarPointTest.CENTER_Y);
+    point.normalizedMagnitudeProperty().set(magnitude);
+    point.normalizedPhaseProperty().set(phase);
+    return point;
+  }
+
+  @Test
+  void magnitudeIsScaledByTheShorterHalfSide() {
+
+    final PolarPoint point = PolarPointTest.point(Quadrant.LOWER_RIGHT, 0.5, 0.0);
+
+    assertEquals(PolarPointTest.CENTER_X + 50.0, point.getX(), PolarPointTest.EPSILON);
+    assertEquals(PolarPointTest.CENTER_Y, point.getY(), PolarPointTest.EPSILON);
+  }
+
+  @Test
+  void unitPhaseIsAQuarterTurn() {
+
+    final PolarPoint point = PolarPointTest.point(Quadrant.LOWER_RIGHT, 0.5, 1.0);
+
+    assertEquals(PolarPointTest.CENTER_X, point.getX(), PolarPointTest.EPSILON);
+    assertEquals(PolarPointTest.CENTER_Y + 50.0, point.getY(), PolarPointTest.EPSILON);
+  }
+
+  @ParameterizedTest
+  @EnumSource(Quadrant.class)
+  void halfPhaseLiesInsideTheQuadrant(final Quadrant quadrant) {
+
+    final PolarPoint point = PolarPointTest.point(quadrant, 0.8, 0.5);
+    final boolean right = point.getX() > PolarPointTest.CENTER_X;
+    final boolean lower = point.getY() > PolarPointTest.CENTER_Y;
+
+    switch (quadrant) {
+      case LOWER_RIGHT:
+        assertTrue(right && lower);
+        break;
+      case LOWER_LEFT:
+        assertTrue(!right && lower);
+        break;
+      case UPPER_LEFT:
+        assertTrue(!right && !lower);
+        break;
+      default:
+        assertTrue(right && !lower);
+        break;
+    }
+  }
+
+  @Test
+  void coordinatesFollowTheCenter() {
+
+    final PolarPoint point = PolarPointTest.point(Quadrant.UPPER_LEFT, 0.3, 0.7);
+    final double x = point.getX();
+    final double y = point.getY();
+
+    // Moving the center along X only keeps the shorter half side unchanged
+    point.centerXProperty().set(PolarPointTest.CENTER_X + 25.0);
+
+    assertEquals(x + 25.0, point.getX(), PolarPointTest.EPSILON);
+    assertEquals(y, point.getY(), PolarPointTest.EPSILON);
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Class:     org.vonvikken.closedbezier.QuadrantTest
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class QuadrantTest {
+
+  @Test
+  void offsetsAreTheFourQuarterTurns() {
+
+    final var offsets =
+        Arrays.stream(Quadrant.values()).map(Quadrant::getOffset).collect(Collectors.toSet());
+    assertEquals(Set.of(0, 1, 2, 3), offsets);
+  }
+
+  @Test
+  void offsetsFollowTheDeclarationOrder() {
+
+    for (final Quadrant quadrant : Quadrant.values()) {
+      assertEquals(quadrant.ordinal(), quadrant.getOffset());
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Class:     org.vonvikken.closedbezier.ShapeMorphTest
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShapeMorphTest {
+
+  /** Distance under which two sampled curves are the same. */
+  private static final double ACCURACY = 1e-3;
+
+  private BezierLoop diamond;
+  private BezierLoop star;
+
+  @BeforeEach
+  void setUp() {
+
+    this.diamond = new BezierLoop(4);
+    this.diamond.setNode(0, 100.0, 0.0);
+    this.diamond.setNode(1, 0.0, 100.0);
+    this.diamond.setNode(2, -100.0, 0.0);
+    this.diamond.setNode(3, 0.0, -100.0);
+    PeriodicSpline.catmullRom(this.diamond);
+
+    // Winds the other way round
+    this.star = new BezierLoop(64);
+    for (int i = 0; i < this.star.size(); i++) {
+      final double angle = -2.0 * Math.PI * i / this.star.size();
+      final double radius = i % 2 == 0 ? 120.0 : 60.0;
+      this.star.setNode(i, 500.0 + radius * Math.cos(angle), radius * Math.sin(angle));
+    }
+    new PeriodicSpline().periodic(this.star);
+  }
+
+  @Test
+  void bothShapesAreResampledToTheLargerNodeCount() {
+    assertEquals(64, new ShapeMorph(this.diamond, this.star).size());
+  }
+
+  /**
+   * Largest distance from the points of {@code loop} to the curve of {@code reference}, both
+   * sampled finely.
+   */
+  private static double distance(final BezierLoop loop, final BezierLoop reference) {
+
+    final double[] curve = ShapeMorphTest.sample(reference, 256);
+    final double[] points = ShapeMorphTest.sample(loop, 16);
+    double max = 0.0;
+    for (int p = 0; p < points.length; p += 2) {
+      double min = Double.POSITIVE_INFINITY;
+      for (int c = 0; c < curve.length; c += 2) {
+        final int next = (c + 2) % curve.length;
+        final double dx = curve[next] - curve[c];
+        final double dy = curve[next + 1] - curve[c + 1];
+        final double ex = points[p] - curve[c];
+        final double ey = points[p + 1] - curve[c + 1];
+        final double squared = dx * dx + dy * dy;
+        final double t =
+            squared > 0.0 ? Math.max(0.0, Math.min(1.0, (ex * dx + ey * dy) / squared)) : 0.0;
+        min = Math.min(min, Math.hypot(ex - t * dx, ey - t * dy));
+      }
+      max = Math.max(max, min);
+    }
+    return max;
+  }
+
+  private static double[] sample(final BezierLoop loop, final int perSegment) {
+
+    final double[] seg = new double[8];
+    final double[] points = new double[2 * loop.size() * perSegment];
+    for (int i = 0; i < loop.size(); i++) {
+      loop.copySegment(i, seg, 0);
+      for (int k = 0; k < perSegment; k++) {
+        final double t = (double) k / perSegment;
+        final int index = 2 * (i * perSegment + k);
+        points[index] = CurveGeometry.evaluate(seg[0], seg[2], seg[4], seg[6], t);
+        points[index + 1] = CurveGeometry.evaluate(seg[1], seg[3], seg[5], seg[7], t);
+      }
+    }
+    return points;
+  }
+
+  private static void assertEndpoints(final BezierLoop from, final BezierLoop to) {
+
+    final var morph = new ShapeMorph(from, to);
+    final var loop = new BezierLoop(morph.size());
+
+    morph.interpolate(0.0, loop);
+    assertEquals(0.0, ShapeMorphTest.distance(loop, from), ShapeMorphTest.ACCURACY);
+    assertEquals(0.0, ShapeMorphTest.distance(from, loop), ShapeMorphTest.ACCURACY);
+
+    morph.interpolate(1.0, loop);
+    assertEquals(0.0, ShapeMorphTest.distance(loop, to), ShapeMorphTest.ACCURACY);
+    assertEquals(0.0, ShapeMorphTest.distance(to, loop), ShapeMorphTest.ACCURACY);
+  }
+
+  @Test
+  void endpointsAreTheInputShapes() {
+    ShapeMorphTest.assertEndpoints(this.diamond, this.star);
+  }
+
+  @Test
+  void endpointsAreTheInputShapesWithTheSameNodeCount() {
+    ShapeMorphTest.assertEndpoints(this.diamond, TestLoops.circle(300.0, 0.0, 80.0, 4, 0.5));
+  }
+
+  @Test
+  void endpointsAreTheInputShapesWithLongHandles() {
+
+    // Like the closed curve with manual handles far from the nodes
+    final var loop = new BezierLoop(4);
+    loop.setNode(0, 100.0, 0.0);
+    loop.setNode(1, 0.0, 20.0);
+    loop.setNode(2, -60.0, 0.0);
+    loop.setNode(3, 0.0, -90.0);
+    loop.setSegmentControls(0, 100.0, 100.0, 100.0, 20.0);
+    loop.setSegmentControls(1, -100.0, 20.0, -60.0, 100.0);
+    loop.setSegmentControls(2, -60.0, -100.0, -100.0, -90.0);
+    loop.setSegmentControls(3, 100.0, -90.0, 100.0, -100.0);
+
+    ShapeMorphTest.assertEndpoints(loop, TestLoops.circle(0.0, 0.0, 100.0, 8, 0.0));
+  }
+
+  @Test
+  void resamplingKeepsTheNodes() {
+
+    final BezierLoop resampled = ShapeMorph.resample(this.diamond, 10);
+
+    assertEquals(10, resampled.size());
+    assertEquals(0.0, ShapeMorphTest.distance(resampled, this.diamond), ShapeMorphTest.ACCURACY);
+    for (int i = 0; i < this.diamond.size(); i++) {
+      final int node = i;
+      assertTrue(
+          IntStream.range(0, resampled.size())
+              .anyMatch(
+                  j ->
+                      resampled.getNodeX(j) == this.diamond.getNodeX(node)
+                          && resampled.getNodeY(j) == this.diamond.getNodeY(node)),
+          "Node " + i);
+    }
+  }
+
+  @Test
+  void intermediateShapesDoNotTurnInsideOut() {
+
+    final var morph = new ShapeMorph(this.diamond, this.star);
+    final var loop = new BezierLoop(morph.size());
+
+    for (int frame = 0; frame <= 10; frame++) {
+      morph.interpolate(frame / 10.0, loop);
+      assertTrue(CurveGeometry.signedArea(loop) > 0.0, "Frame " + frame);
+    }
+  }
+
+  @Test
+  void destinationMustMatchTheNodeCount() {
+
+    final var morph = new ShapeMorph(this.diamond, this.star);
+    assertThrows(IllegalArgumentException.class, () -> morph.interpolate(0.5, this.diamond));
+  }
+
+  @Test
+  void sizeMustHoldBothLoops() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new ShapeMorph(this.diamond, this.star, 16));
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Class:     org.vonvikken.closedbezier.SimulationClockTest
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import javafx.util.Duration;
+import org.junit.jupiter.api.Test;
+
+class SimulationClockTest {
+
+  private static final double EPSILON = 1e-12;
+
+  /** Step of 10 ms, in nanoseconds. */
+  private static final long STEP_NANOS = 10_000_000L;
+
+  /** Adds the step index to every value, so that each step is told apart from the previous one. */
+  private static final CurveSimulation COUNTER =
+      new CurveSimulation() {
+
+        @Override
+        public int getStateSize() {
+          return 2;
+        }
+
+        @Override
+        public void initialize(final double[] state) {
+          state[0] = 0.0;
+          state[1] = 100.0;
+        }
+
+        @Override
+        public void step(
+            final long step,
+            final double stepSeconds,
+            final double[] previous,
+            final double[] next) {
+
+          next[0] = previous[0] + step;
+          next[1] = previous[1] - step;
+        }
+      };
+
+  private static SimulationClock clock(final CurveSimulation simulation) {
+    return new SimulationClock(simulation, Duration.millis(10.0));
+  }
+
+  /** State of the last step. */
+  private static double[] current(final SimulationClock clock) {
+
+    final double[] state = new double[clock.getStateSize()];
+    clock.sample(clock.getPublishedNanos() + 100L * SimulationClockTest.STEP_NANOS, state);
+    return state;
+  }
+
+  @Test
+  void runsAreReproducible() {
+
+    final var simulation =
+        new PingPongSimulation(new double[] {0.0, 1.0, 0.5}, new double[] {1.0, 0.0, 0.25}, 0.7);
+    final SimulationClock first = SimulationClockTest.clock(simulation);
+    final SimulationClock second = SimulationClockTest.clock(simulation);
+
+    first.advance(1234L);
+    second.advance(1000L);
+    second.advance(234L);
+
+    assertEquals(1234L, first.getStepCount());
+    assertEquals(1234L, second.getStepCount());
+    assertArrayEquals(SimulationClockTest.current(first), SimulationClockTest.current(second));
+  }
+
+  @Test
+  void sampleIsClampedToTheLastTwoSteps() {
+
+    final SimulationClock clock = SimulationClockTest.clock(SimulationClockTest.COUNTER);
+    clock.advance(3L);
+    final long published = clock.getPublishedNanos();
+    final double[] state = new double[2];
+
+    // Steps 2 and 3 hold 0 + 1 + 2 and 0 + 1 + 2 + 3
+    clock.sample(published - SimulationClockTest.STEP_NANOS, state);
+    assertArrayEquals(new double[] {3.0, 97.0}, state, SimulationClockTest.EPSILON);
+
+    clock.sample(published + 5L * SimulationClockTest.STEP_NANOS, state);
+    assertArrayEquals(new double[] {6.0, 94.0}, state, SimulationClockTest.EPSILON);
+  }
+
+  @Test
+  void sampleInterpolatesBetweenTheLastTwoSteps() {
+
+    final SimulationClock clock = SimulationClockTest.clock(SimulationClockTest.COUNTER);
+    clock.advance(3L);
+    final long published = clock.getPublishedNanos();
+    final double[] state = new double[2];
+
+    clock.sample(published + SimulationClockTest.STEP_NANOS / 4L, state);
+    assertArrayEquals(new double[] {3.75, 96.25}, state, SimulationClockTest.EPSILON);
+
+    // At twice the speed a step lasts half as long in real time
+    clock.setSpeed(2.0);
+    clock.sample(published + SimulationClockTest.STEP_NANOS / 4L, state);
+    assertArrayEquals(new double[] {4.5, 95.5}, state, SimulationClockTest.EPSILON);
+  }
+
+  @Test
+  void advanceIsRejectedWhileRunning() {
+
+    final SimulationClock clock = SimulationClockTest.clock(SimulationClockTest.COUNTER);
+    clock.start();
+    try {
+      assertThrows(IllegalStateException.class, () -> clock.advance(1L));
+    } finally {
+      clock.stop();
+    }
+  }
+}
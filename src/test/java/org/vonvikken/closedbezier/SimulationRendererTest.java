@@ -0,0 +1,105 @@
+/*
+ * Class:     org.vonvikken.closedbezier.SimulationRendererTest
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Point2D;
+import javafx.util.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(HeadlessPlatformExtension.class)
+class SimulationRendererTest {
+
+  private static final double EPSILON = 1e-12;
+
+  /** Step of 10 ms, in nanoseconds. */
+  private static final long STEP_NANOS = 10_000_000L;
+
+  private static final double[] FROM = {1.0, 0.15, 0.75, 0.3, 0.5, 0.5, 0.25, 0.6};
+  private static final double[] TO = {0.1, 0.85, 0.1, 0.85, 0.9, 0.2, 0.75, 0.1};
+
+  private ClosedBezierCurve curve;
+  private List<DoubleProperty> targets;
+  private SimulationClock clock;
+
+  @BeforeEach
+  void setUp() {
+
+    this.curve = new ClosedBezierCurve(new SimpleObjectProperty<>(new Point2D(800.0, 600.0)));
+    this.targets =
+        List.of(
+            this.curve.magnitude1Property(),
+            this.curve.phase1Property(),
+            this.curve.magnitude2Property(),
+            this.curve.phase2Property(),
+            this.curve.magnitude3Property(),
+            this.curve.phase3Property(),
+            this.curve.magnitude4Property(),
+            this.curve.phase4Property());
+    this.clock =
+        new SimulationClock(
+            new PingPongSimulation(SimulationRendererTest.FROM, SimulationRendererTest.TO, 0.1),
+            Duration.millis(10.0));
+    this.clock.advance(1L);
+  }
+
+  @Test
+  void pulseRebuildsThePathOnce() {
+
+    final var renderer = new SimulationRenderer(this.clock, this.targets, this.curve::batchUpdate);
+    this.curve.getLevelOfDetail().resetStatistics();
+
+    renderer.handle(this.clock.getPublishedNanos() + SimulationRendererTest.STEP_NANOS);
+
+    assertEquals(1L, this.curve.getLevelOfDetail().getRenderedUpdates());
+    assertEquals(1L, renderer.getRenderedFrames());
+  }
+
+  @Test
+  void pulseWritesTheInterpolatedState() {
+
+    final var renderer = new SimulationRenderer(this.clock, this.targets, this.curve::batchUpdate);
+
+    renderer.handle(this.clock.getPublishedNanos() + SimulationRendererTest.STEP_NANOS / 2L);
+
+    // Step 1 is a tenth of the way to the end values and the pulse half a step past step 0
+    for (int i = 0; i < this.targets.size(); i++) {
+      final double from = SimulationRendererTest.FROM[i];
+      final double to = SimulationRendererTest.TO[i];
+      assertEquals(
+          from + (to - from) * 0.05, this.targets.get(i).get(), SimulationRendererTest.EPSILON);
+    }
+  }
+
+  @Test
+  void targetsMustMatchTheState() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new SimulationRenderer(this.clock, List.of(new SimpleDoubleProperty())));
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Class:     org.vonvikken.closedbezier.TestLoops
+ * Author:    Vincenzo Stornanti
+ *
+ * Copyright 2020 Vincenzo Stornanti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vonvikken.closedbezier;
+
+/** Loops with a known geometry shared by the tests. */
+final class TestLoops {
+
+  private TestLoops() {}
+
+  /**
+   * Circle of {@code nodes} equal arcs, counterclockwise from {@code startAngle}, with the
+   * usual {@code 4/3 tan(θ/4)} handles: it departs from the true circle by less than 0.03% of
+   * the radius at four nodes and much less with more.
+   */
+  static BezierLoop circle(
+      final double centerX,
+      final double centerY,
+      final double radius,
+      final int nodes,
+      final double startAngle) {
+
+    final var loop = new BezierLoop(nodes);
+    final double step = 2.0 * Math.PI / nodes;
+    final double handle = 4.0 / 3.0 * Math.tan(step / 4.0) * radius;
+
+    for (int i = 0; i < nodes; i++) {
+      final double angle = startAngle + i * step;
+      final double next = angle + step;
+      loop.setNode(i, centerX + radius * Math.cos(angle), centerY + radius * Math.sin(angle));
+      loop.setSegmentControls(
+          i,
+          centerX + radius * Math.cos(angle) - handle * Math.sin(angle),
+          centerY + radius * Math.sin(angle) + handle * Math.cos(angle),
+          centerX + radius * Math.cos(next) + handle * Math.sin(next),
+          centerY + radius * Math.sin(next) - handle * Math.cos(next));
+    }
+
+    return loop;
+  }
+}